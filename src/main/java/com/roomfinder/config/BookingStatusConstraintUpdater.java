@@ -0,0 +1,54 @@
+package com.roomfinder.config;
+
+import com.roomfinder.enums.BookingStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Widens the CHECK constraint Hibernate put on {@code bookings.status}.
+ * Schema update creates that constraint with the enum values known when the table was created and never
+ * alters it, so a status added later would be rejected by the database. The constraint is only rebuilt
+ * when a value is missing.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class BookingStatusConstraintUpdater implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(BookingStatusConstraintUpdater.class);
+
+    static final String CONSTRAINT = "bookings_status_check";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookingStatusConstraintUpdater(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> definitions = jdbcTemplate.queryForList(
+                "SELECT pg_get_constraintdef(oid) FROM pg_constraint " +
+                        "WHERE conrelid = 'bookings'::regclass AND conname = ?", String.class, CONSTRAINT);
+        boolean upToDate = !definitions.isEmpty() && Arrays.stream(BookingStatus.values())
+                .allMatch(status -> definitions.get(0).contains("'" + status.name() + "'"));
+        if (upToDate) {
+            return;
+        }
+
+        String allowed = Arrays.stream(BookingStatus.values())
+                .map(status -> "'" + status.name() + "'")
+                .collect(Collectors.joining(", "));
+        jdbcTemplate.execute("ALTER TABLE bookings DROP CONSTRAINT IF EXISTS " + CONSTRAINT);
+        jdbcTemplate.execute("ALTER TABLE bookings ADD CONSTRAINT " + CONSTRAINT + " CHECK (status IN (" + allowed + "))");
+        logger.info("Rebuilt {} to allow {}", CONSTRAINT, allowed);
+    }
+}
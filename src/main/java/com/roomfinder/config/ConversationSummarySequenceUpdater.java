@@ -0,0 +1,31 @@
+package com.roomfinder.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the sequence that versions {@code conversation_summary} unread counts. It is not an id
+ * generator, so JPA does not create it. One sequence serves every row, so a row that is deleted and
+ * created again still gets versions above the ones it had.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConversationSummarySequenceUpdater implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ConversationSummarySequenceUpdater(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS conversation_unread_version_seq");
+        // Owned by the column, so it goes wherever the table goes, including a schema drop-and-create
+        jdbcTemplate.execute("ALTER SEQUENCE conversation_unread_version_seq OWNED BY conversation_summary.unread_version");
+    }
+}
@@ -0,0 +1,31 @@
+package com.roomfinder.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the expression indexes behind the case-insensitive city and amenity filters of the room search.
+ * JPA index annotations only cover plain columns, so {@code lower(trim(...))} indexes are created here.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RoomSearchIndexUpdater implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RoomSearchIndexUpdater(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_rooms_city_key_available_price " +
+                "ON rooms (lower(trim(city)), is_available, price)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_room_amenities_name_key_room " +
+                "ON room_amenities (lower(trim(amenity_name)), room_id)");
+    }
+}
@@ -1,5 +1,6 @@
 package com.roomfinder.config;
 
+import com.roomfinder.security.IdempotencyFilter;
 import com.roomfinder.security.JwtRequestFilter;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +15,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -25,10 +27,12 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final JwtRequestFilter jwtRequestFilter;
+    private final IdempotencyFilter idempotencyFilter;
 
     @Autowired
-    public SecurityConfig(JwtRequestFilter jwtRequestFilter) {
+    public SecurityConfig(JwtRequestFilter jwtRequestFilter, IdempotencyFilter idempotencyFilter) {
         this.jwtRequestFilter = jwtRequestFilter;
+        this.idempotencyFilter = idempotencyFilter;
     }
 
     @Bean
@@ -46,19 +50,23 @@ public class SecurityConfig {
                         .requestMatchers("/api/users/register", "/api/auth/login").permitAll()
                         .requestMatchers(
                                 "/api/bookings/{id}/approve",
-                                "/api/bookings/{id}/reject"
+                                "/api/bookings/{id}/reject",
+                                "/api/analytics/occupancy"
                         ).hasRole("LANDLORD")
                         .requestMatchers(
                                 "/api/bookings",
                                 "/api/bookings/{id}/cancel"
                         ).hasRole("SEEKER")
                         .requestMatchers(
+                                "/api/bookings/batch",
                                 "/api/bookings/{id}",
                                 "/api/bookings/room/{roomId}",
+                                "/api/bookings/room/{roomId}/calendar",
                                 "/api/bookings/room/{roomId}/pending"
                         ).hasAnyRole("LANDLORD", "SEEKER")
                         .requestMatchers(
                                 "/api/users",
+                                "/api/users/scroll",
                                 "/api/users/admins",
                                 "/api/users/seekers",
                                 "/api/users/landlords",
@@ -71,7 +79,8 @@ public class SecurityConfig {
                                 "/api/csv/import/bookings",
                                 "/api/csv/export/users",
                                 "/api/csv/export/messages",
-                                "/api/csv/export/bookings"
+                                "/api/csv/export/bookings",
+                                "/actuator/**"
                         ).hasRole("ADMIN")
                         .requestMatchers(
                                 "/api/users/{id}/update",
@@ -104,6 +113,8 @@ public class SecurityConfig {
                 );
 
         http.addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+        // After authorization, so a rejected request never claims an idempotency key
+        http.addFilterAfter(idempotencyFilter, AuthorizationFilter.class);
 
         return http.build();
     }
@@ -127,11 +138,13 @@ public class SecurityConfig {
                 "Authorization",
                 "X-Requested-With",
                 "Accept",
-                "X-Landlord-Id"
+                "X-Landlord-Id",
+                IdempotencyFilter.IDEMPOTENCY_KEY_HEADER
         ));
         configuration.setExposedHeaders(Arrays.asList(
                 "Set-Cookie",
-                "Content-Disposition"
+                "Content-Disposition",
+                IdempotencyFilter.REPLAYED_HEADER
         ));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
@@ -0,0 +1,41 @@
+package com.roomfinder.controller;
+
+import com.roomfinder.dto.response.OccupancyReportResponse;
+import com.roomfinder.security.CustomUserDetails;
+import com.roomfinder.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    private Long getCurrentUserId(Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        return userDetails.getId();
+    }
+
+    /**
+     * Occupancy and projected revenue of the current landlord's rooms; defaults to the last twelve months.
+     */
+    @GetMapping("/occupancy")
+    public ResponseEntity<OccupancyReportResponse> getOccupancy(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            Authentication authentication) {
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.minusMonths(11);
+        return ResponseEntity.ok(analyticsService.getLandlordOccupancy(getCurrentUserId(authentication), start, end));
+    }
+}
@@ -1,6 +1,11 @@
 package com.roomfinder.controller;
 
+import com.roomfinder.dto.request.BatchBookingActionRequest;
 import com.roomfinder.dto.request.BookingRequest;
+import com.roomfinder.dto.response.AvailabilityWindowResponse;
+import com.roomfinder.dto.response.BatchBookingResponse;
+import com.roomfinder.dto.response.BookingCalendarResponse;
+import com.roomfinder.dto.response.CursorPage;
 import com.roomfinder.entity.Booking;
 import com.roomfinder.enums.BookingStatus;
 import com.roomfinder.security.CustomUserDetails;
@@ -11,12 +16,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Arrays;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -85,6 +95,14 @@ public class BookingController {
         return ResponseEntity.ok(booking);
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<BatchBookingResponse> applyBatch(
+            @Valid @RequestBody BatchBookingActionRequest request,
+            Authentication authentication) {
+        Long userId = getCurrentUserId(authentication);
+        return ResponseEntity.ok(bookingService.applyBatch(request.getAction(), request.getBookingIds(), userId));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Booking> getBooking(@PathVariable Long id) {
         Booking booking = bookingService.getBookingById(id);
@@ -100,6 +118,15 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
 
+    @GetMapping("/landlord/my-bookings/scroll")
+    public ResponseEntity<CursorPage<Booking>> scrollBookingsByLandlord(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        Long landlordId = getCurrentUserId(authentication);
+        return ResponseEntity.ok(bookingService.scrollBookingsByLandlord(landlordId, cursor, size));
+    }
+
     @GetMapping("/seeker/my-bookings")
     public ResponseEntity<Page<Booking>> getBookingsByCurrentSeeker(
             Authentication authentication,
@@ -109,6 +136,15 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
 
+    @GetMapping("/seeker/my-bookings/scroll")
+    public ResponseEntity<CursorPage<Booking>> scrollBookingsByCurrentSeeker(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        Long seekerId = getCurrentUserId(authentication);
+        return ResponseEntity.ok(bookingService.scrollBookingsBySeeker(seekerId, cursor, size));
+    }
+
     @GetMapping("/room/{roomId}")
     public ResponseEntity<Page<Booking>> getBookingsByRoom(
             @PathVariable Long roomId,
@@ -117,6 +153,38 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
 
+    @GetMapping("/room/{roomId}/next-available")
+    public ResponseEntity<AvailabilityWindowResponse> getNextAvailableWindow(
+            @PathVariable Long roomId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "1") int days) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        return ResponseEntity.ok(bookingService.findNextAvailableWindow(roomId, start, days));
+    }
+
+    /**
+     * Booked days of the room as runs or a bitmap, by default for the next 90 days. The ETag is derived from
+     * the content, so any node answers a revalidation with 304 while the room's bookings are unchanged.
+     */
+    @GetMapping("/room/{roomId}/calendar")
+    public ResponseEntity<BookingCalendarResponse> getRoomCalendar(
+            @PathVariable Long roomId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "runs") String encoding,
+            WebRequest webRequest) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(89);
+        BookingCalendarResponse calendar = bookingService.getRoomCalendar(roomId, start, end, encoding);
+        String etag = "\"" + DigestUtils.md5DigestAsHex((calendar.getRoomId() + "/" + calendar.getFrom() + "/"
+                + calendar.getTo() + "/" + Arrays.toString(calendar.getRuns()) + "/" + calendar.getBitmap())
+                .getBytes(StandardCharsets.UTF_8)) + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(calendar);
+    }
+
     @GetMapping("/room/{roomId}/pending")
     public ResponseEntity<Page<Booking>> getPendingBookingsByRoom(
             @PathVariable Long roomId,
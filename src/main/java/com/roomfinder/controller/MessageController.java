@@ -2,8 +2,10 @@ package com.roomfinder.controller;
 
 import com.roomfinder.dto.request.MessageRequest;
 import com.roomfinder.dto.response.ApiResponse;
+import com.roomfinder.dto.response.CursorPage;
 import com.roomfinder.dto.response.DirectConversationResponse;
 import com.roomfinder.dto.response.MessageResponse;
+import com.roomfinder.dto.response.UnreadCountResponse;
 import com.roomfinder.entity.Message;
 import com.roomfinder.service.MessageService;
 import com.roomfinder.service.UserService;
@@ -73,8 +75,25 @@ public class MessageController {
             var user = userService.getUserByUsername(userDetails.getUsername())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            messageService.markMessagesAsRead(roomId, user.getId());
-            return ResponseEntity.ok(new ApiResponse(true, "All messages marked as read"));
+            int marked = messageService.markMessagesAsRead(roomId, user.getId());
+            return ResponseEntity.ok(new ApiResponse(true, "All messages marked as read", marked));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    @PutMapping("/conversation/{otherUserId}/read-all")
+    @PreAuthorize("hasAnyRole('SEEKER', 'LANDLORD')")
+    public ResponseEntity<ApiResponse> markConversationAsRead(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long otherUserId) {
+        try {
+            var user = userService.getUserByUsername(userDetails.getUsername())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            int marked = messageService.markConversationAsRead(otherUserId, user.getId());
+            return ResponseEntity.ok(new ApiResponse(true, "All messages marked as read", marked));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, e.getMessage()));
@@ -118,12 +137,15 @@ public class MessageController {
     @PreAuthorize("hasAnyRole('SEEKER', 'LANDLORD')")
     public ResponseEntity<ApiResponse> getRoomMessages(
             @AuthenticationPrincipal UserDetails userDetails,
-            @PathVariable Long roomId) {
+            @PathVariable Long roomId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size) {
         try {
             var user = userService.getUserByUsername(userDetails.getUsername())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            List<Message> messages = messageService.getRoomMessages(roomId, user.getId());
+            CursorPage<Message> messages = messageService.getRoomMessages(roomId, user.getId(), before, after, size);
             return ResponseEntity.ok(new ApiResponse(true, "Messages retrieved successfully", messages));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -135,12 +157,15 @@ public class MessageController {
     @PreAuthorize("hasAnyRole('SEEKER', 'LANDLORD')")
     public ResponseEntity<ApiResponse> getConversation(
             @AuthenticationPrincipal UserDetails userDetails,
-            @PathVariable Long otherUserId) {
+            @PathVariable Long otherUserId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size) {
         try {
             var user = userService.getUserByUsername(userDetails.getUsername())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            List<Message> messages = messageService.getConversation(otherUserId, user.getId());
+            CursorPage<Message> messages = messageService.getConversation(otherUserId, user.getId(), before, after, size);
             return ResponseEntity.ok(new ApiResponse(true, "Conversation retrieved successfully", messages));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -164,6 +189,22 @@ public class MessageController {
         }
     }
 
+    @GetMapping("/unread/count")
+    @PreAuthorize("hasAnyRole('SEEKER', 'LANDLORD')")
+    public ResponseEntity<ApiResponse> getUnreadCount(
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            var user = userService.getUserByUsername(userDetails.getUsername())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            UnreadCountResponse unread = messageService.getUnreadCount(user.getId());
+            return ResponseEntity.ok(new ApiResponse(true, "Unread count retrieved successfully", unread));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
     @GetMapping("/recent")
     @PreAuthorize("hasAnyRole('SEEKER', 'LANDLORD')")
     public ResponseEntity<ApiResponse> getRecentMessages(
@@ -194,6 +235,11 @@ public class MessageController {
         // Subscription confirmation if needed
     }
 
+    @SubscribeMapping("/user/queue/unread")
+    public void subscribeToUnreadCount(Principal principal) {
+        // Subscription confirmation if needed
+    }
+
     @SubscribeMapping("/topic/room/{roomId}")
     public void subscribeToRoom(@DestinationVariable Long roomId, Principal principal) {
         // Subscription confirmation if needed
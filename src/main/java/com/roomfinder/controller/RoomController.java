@@ -4,7 +4,11 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.roomfinder.dto.request.RoomRequest;
+import com.roomfinder.dto.request.RoomSearchCriteria;
 import com.roomfinder.dto.response.ApiResponse;
+import com.roomfinder.dto.response.CursorPage;
+import com.roomfinder.dto.response.FacetSearchResponse;
+import com.roomfinder.dto.response.RoomSummaryResponse;
 import com.roomfinder.entity.Room;
 import com.roomfinder.service.RoomService;
 import jakarta.persistence.EntityNotFoundException;
@@ -13,6 +17,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -20,9 +25,13 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/rooms")
@@ -78,26 +87,132 @@ public class RoomController {
 
 
     @GetMapping("/landlord/{landlordId}")
-    public ResponseEntity<Page<Room>> getRoomsByLandlord(
+    public ResponseEntity<Page<RoomSummaryResponse>> getRoomsByLandlord(
             @PathVariable Long landlordId,
             @PageableDefault(size = 10) Pageable pageable) {
         return ResponseEntity.ok(roomService.getRoomsByLandlord(landlordId, pageable));
     }
 
     @GetMapping
-    public ResponseEntity<Page<Room>> getAllRooms(@PageableDefault(size = 5) Pageable pageable) {
+    public ResponseEntity<Page<RoomSummaryResponse>> getAllRooms(@PageableDefault(size = 5) Pageable pageable) {
         return ResponseEntity.ok(roomService.getAllRooms(pageable));
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<RoomSummaryResponse>> scrollRooms(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(roomService.scrollRooms(cursor, size));
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<Page<Room>> searchRooms(
+    public ResponseEntity<Page<RoomSummaryResponse>> searchRooms(
             @RequestParam(required = false) String city,
+            @RequestParam(required = false) Double minPrice,
             @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Integer minSize,
+            @RequestParam(required = false) Integer maxSize,
+            @RequestParam(required = false) List<String> amenities,
+            @RequestParam(required = false, defaultValue = "true") Boolean available,
             @RequestParam(required = false) String address,
+            @RequestParam(defaultValue = "exact") String mode,
             @PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(roomService.searchRooms(city, maxPrice, address, pageable));
+        if ("fuzzy".equalsIgnoreCase(mode)) {
+            // Fuzzy mode matches the free text against title, address and city of available rooms, tolerating
+            // typos. It cannot apply the other filters, so they are rejected rather than silently ignored.
+            if (minPrice != null || maxPrice != null || minSize != null || maxSize != null
+                    || (amenities != null && !amenities.isEmpty()) || !Boolean.TRUE.equals(available)) {
+                throw new IllegalArgumentException(
+                        "Fuzzy search only supports address and city; price, size, amenity and availability filters need mode=exact");
+            }
+            String query = Stream.of(address, city)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.joining(" "));
+            return ResponseEntity.ok(roomService.fuzzySearchRooms(query, pageable));
+        }
+        if (!"exact".equalsIgnoreCase(mode)) {
+            throw new IllegalArgumentException("Unsupported search mode: " + mode);
+        }
+
+        RoomSearchCriteria criteria = RoomSearchCriteria.builder()
+                .city(city)
+                .address(address)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .minSize(minSize)
+                .maxSize(maxSize)
+                .amenities(amenities != null ? amenities : new ArrayList<>())
+                .available(available)
+                .build();
+        return ResponseEntity.ok(roomService.searchRooms(criteria, pageable));
     }
 
+    @GetMapping("/facets")
+    public ResponseEntity<FacetSearchResponse> facetSearch(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Integer minSize,
+            @RequestParam(required = false) Integer maxSize,
+            @RequestParam(required = false) List<String> amenities,
+            @RequestParam(required = false, defaultValue = "true") Boolean available,
+            @PageableDefault(size = 10) Pageable pageable) {
+        RoomSearchCriteria criteria = RoomSearchCriteria.builder()
+                .city(city)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .minSize(minSize)
+                .maxSize(maxSize)
+                .amenities(amenities != null ? amenities : new ArrayList<>())
+                .available(available)
+                .build();
+        return ResponseEntity.ok(roomService.facetSearch(criteria, pageable));
+    }
+
+    @GetMapping("/available")
+    public ResponseEntity<Page<RoomSummaryResponse>> searchAvailableRooms(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Integer minSize,
+            @RequestParam(required = false) Integer maxSize,
+            @RequestParam(required = false) List<String> amenities,
+            @RequestParam(required = false) String address,
+            @PageableDefault(size = 10) Pageable pageable) {
+        // Free dates come from approved bookings, not the listing flag that approving a booking clears
+        RoomSearchCriteria criteria = RoomSearchCriteria.builder()
+                .city(city)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .minSize(minSize)
+                .maxSize(maxSize)
+                .amenities(amenities != null ? amenities : new ArrayList<>())
+                .address(address)
+                .available(null)
+                .build();
+        return ResponseEntity.ok(roomService.searchAvailableRooms(criteria, from, to, pageable));
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<Page<RoomSummaryResponse>> findNearbyRooms(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "2") double radiusKm,
+            @PageableDefault(size = 10) Pageable pageable) {
+        return ResponseEntity.ok(roomService.findNearbyRooms(lat, lng, radiusKm, pageable));
+    }
+
+    @GetMapping("/within-bounds")
+    public ResponseEntity<Page<RoomSummaryResponse>> findRoomsWithinBounds(
+            @RequestParam double minLat,
+            @RequestParam double maxLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLng,
+            @PageableDefault(size = 10) Pageable pageable) {
+        return ResponseEntity.ok(roomService.findRoomsWithinBounds(minLat, maxLat, minLng, maxLng, pageable));
+    }
 
     @PatchMapping("/{id}/availability")
     public ResponseEntity<?> toggleAvailability(
@@ -116,7 +231,7 @@ public class RoomController {
     @GetMapping("/recent/new-listings")
     public ResponseEntity<ApiResponse> getNewListingsLast7Days(
             @PageableDefault(size = 10) Pageable pageable) {
-        Page<Room> rooms = roomService.getNewListingsLast7Days(pageable);
+        Page<RoomSummaryResponse> rooms = roomService.getNewListingsLast7Days(pageable);
         return ResponseEntity.ok(
                 new ApiResponse(true, "Recent listings retrieved successfully", rooms)
         );
@@ -4,6 +4,7 @@ import com.roomfinder.dto.request.RegisterRequest;
 import com.roomfinder.dto.request.PasswordChangeRequest;
 import com.roomfinder.dto.request.UpdateProfileRequest;
 import com.roomfinder.dto.response.ApiResponse;
+import com.roomfinder.dto.response.CursorPage;
 import com.roomfinder.dto.response.GrowthTrendResponse;
 import com.roomfinder.entity.User;
 import com.roomfinder.exceptions.UserNotFoundException;
@@ -171,6 +172,14 @@ public class UserController {
         return ResponseEntity.ok(userService.getAllUsers(pageable));
     }
 
+    // Scroll through all users with an opaque cursor instead of page numbers
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<User>> scrollUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(userService.scrollUsers(cursor, size));
+    }
+
     // Get paginated seekers
     @GetMapping("/seekers")
     public ResponseEntity<Page<User>> getAllSeekers(@PageableDefault(size = 10) Pageable pageable) {
@@ -0,0 +1,19 @@
+package com.roomfinder.dto.request;
+
+import com.roomfinder.enums.BookingAction;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchBookingActionRequest {
+    public static final int MAX_BOOKINGS = 200;
+
+    @NotNull(message = "Action is required")
+    private BookingAction action;
+
+    @NotEmpty(message = "At least one booking ID is required")
+    @Size(max = MAX_BOOKINGS, message = "At most " + MAX_BOOKINGS + " bookings can be processed at once")
+    private List<@NotNull Long> bookingIds;
+}
@@ -0,0 +1,28 @@
+package com.roomfinder.dto.request;
+
+import com.roomfinder.enums.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Booking search filters; null fields are not filtered on. Date bounds are inclusive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingSearchCriteria {
+    // Restricts the search to bookings of this landlord's rooms
+    private Long landlordId;
+    private Long seekerId;
+    private Long roomId;
+    private BookingStatus status;
+    private LocalDate startDateFrom;
+    private LocalDate startDateTo;
+    private LocalDate endDateFrom;
+    private LocalDate endDateTo;
+}
@@ -29,6 +29,14 @@ public class RoomRequest {
     @Positive(message = "Size must be positive")
     private Integer size;
 
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
 //    private List<String> existingImages;
 
     private List<MultipartFile> images;
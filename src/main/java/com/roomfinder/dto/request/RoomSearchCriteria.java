@@ -0,0 +1,30 @@
+package com.roomfinder.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomSearchCriteria {
+    private String city;
+    private String address;
+    private Double minPrice;
+    private Double maxPrice;
+    private Integer minSize;
+    private Integer maxSize;
+
+    // Amenity names the room must have, e.g. "wifi", "parking"
+    @Builder.Default
+    private List<String> amenities = new ArrayList<>();
+
+    // Null means "any"; search defaults to available rooms only
+    @Builder.Default
+    private Boolean available = true;
+}
@@ -0,0 +1,18 @@
+package com.roomfinder.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * A run of consecutive days with no approved booking, both ends inclusive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityWindowResponse {
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
@@ -0,0 +1,19 @@
+package com.roomfinder.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Per-booking results of a batch action, in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingResponse {
+    private int succeeded;
+    private int failed;
+    private List<BookingActionResult> results;
+}
@@ -0,0 +1,29 @@
+package com.roomfinder.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.roomfinder.enums.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one booking in a batch action: the new status on success, the reason on failure.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingActionResult {
+    private Long bookingId;
+    private boolean success;
+    private BookingStatus status;
+    private String message;
+
+    public static BookingActionResult succeeded(Long bookingId, BookingStatus status) {
+        return new BookingActionResult(bookingId, true, status, null);
+    }
+
+    public static BookingActionResult failed(Long bookingId, String message) {
+        return new BookingActionResult(bookingId, false, null, message);
+    }
+}
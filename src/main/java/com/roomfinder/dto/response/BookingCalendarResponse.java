@@ -0,0 +1,28 @@
+package com.roomfinder.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * A room's booked days from {@code from} to {@code to}, both inclusive, in one of two encodings.
+ * {@code runs} lists {@code [offset, length]} pairs of consecutive booked days, with offsets counted in
+ * days from {@code from}. {@code bitmap} is base64 of a little-endian bit array: bit {@code i} is set when
+ * day {@code from + i} is booked, and trailing free days may be left out. Only the requested encoding is
+ * included.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingCalendarResponse {
+    private Long roomId;
+    private LocalDate from;
+    private LocalDate to;
+    private String encoding;
+    private int[] runs;
+    private String bitmap;
+}
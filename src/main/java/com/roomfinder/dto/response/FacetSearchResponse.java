@@ -0,0 +1,17 @@
+package com.roomfinder.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.Page;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class FacetSearchResponse {
+    private Page<RoomSummaryResponse> rooms;
+    // Amenity name -> number of matching rooms offering it
+    private Map<String, Long> amenityCounts;
+    // City -> number of rooms that would match if that city were selected
+    private Map<String, Long> cityCounts;
+}
@@ -0,0 +1,22 @@
+package com.roomfinder.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A landlord's occupancy from {@code from} to {@code to}, both months inclusive. Monthly totals and city
+ * rows cover every month of the range; room rows only list months with at least one booked day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyReportResponse {
+    private String from;
+    private String to;
+    private List<OccupancyStatResponse> months;
+    private List<OccupancyStatResponse> cities;
+    private List<OccupancyStatResponse> rooms;
+}
@@ -0,0 +1,23 @@
+package com.roomfinder.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Occupancy of one month, for a room, a city or all of a landlord's rooms; fields that do not apply to the
+ * grouping are null. Projected revenue is the room price times booked days.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyStatResponse {
+    private Long roomId;
+    private String roomTitle;
+    private String city;
+    private String month;
+    private long bookedDays;
+    private long availableDays;
+    private double occupancyRate;
+    private double projectedRevenue;
+}
@@ -0,0 +1,24 @@
+package com.roomfinder.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One receipt for a whole read-all: every message to {@code readerId} in the room, or from
+ * {@code otherUserId} in the direct conversation, sent up to {@code readUpTo} is now read.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReadReceiptResponse {
+    private Long readerId;
+    private Long roomId;
+    private Long otherUserId;
+    private int count;
+    private LocalDateTime readUpTo;
+}
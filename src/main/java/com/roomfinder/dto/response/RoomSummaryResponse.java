@@ -0,0 +1,42 @@
+package com.roomfinder.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Room as shown in listings: everything but the description, with images and amenities
+ * loaded for the whole page at once rather than per room.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomSummaryResponse {
+    private Long id;
+    private Long landlordId;
+    private String title;
+    private double price;
+    private String address;
+    private String city;
+    private int size;
+    private Double latitude;
+    private Double longitude;
+    // Only set by location searches
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double distanceKm;
+    private boolean available;
+    private LocalDateTime postedDate;
+    @Builder.Default
+    private List<String> images = new ArrayList<>();
+    @Builder.Default
+    private Map<String, String> amenities = new HashMap<>();
+}
@@ -0,0 +1,19 @@
+package com.roomfinder.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * A user's unread message badge: the total, and the count per other user for conversations that have
+ * unread messages.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadCountResponse {
+    private int total;
+    private Map<Long, Integer> conversations;
+}
@@ -8,7 +8,13 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_seeker_id", columnList = "seeker_id, id"),
+        @Index(name = "idx_bookings_room_id", columnList = "room_id, id"),
+        @Index(name = "idx_bookings_status_start_date", columnList = "status, start_date, id"),
+        @Index(name = "idx_bookings_room_status_start_date", columnList = "room_id, status, start_date"),
+        @Index(name = "idx_bookings_seeker_status", columnList = "seeker_id, status")
+})
 public class Booking {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -32,4 +38,9 @@ public class Booking {
     private BookingStatus status = BookingStatus.PENDING;
 
     private String comments;
+
+    // Optimistic lock: a concurrent status change of the same booking fails instead of being overwritten
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
 }
\ No newline at end of file
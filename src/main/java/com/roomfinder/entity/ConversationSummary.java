@@ -0,0 +1,58 @@
+package com.roomfinder.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One user's side of a conversation with another user: the latest message between them and how many of
+ * the other user's messages the owner has not read. Each pair has two rows, one per side, so a user's
+ * inbox is a range read on {@code owner_id}. Maintained by ConversationSummaryRollup.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(ConversationSummary.Key.class)
+@Table(name = "conversation_summary", indexes = {
+        @Index(name = "idx_conversation_summary_owner_sent_at", columnList = "owner_id, last_sent_at")
+})
+public class ConversationSummary {
+    @Id
+    private Long ownerId;
+
+    @Id
+    private Long otherUserId;
+
+    @Column(nullable = false)
+    private Long lastMessageId;
+
+    @Column(nullable = false)
+    private Long lastSenderId;
+
+    @Column(nullable = false, length = 2000)
+    private String lastContent;
+
+    @Column(nullable = false)
+    private LocalDateTime lastSentAt;
+
+    @Column(nullable = false)
+    private int unreadCount;
+
+    // Drawn from conversation_unread_version_seq by every write to the row, under its row lock, so a
+    // higher version always holds the later unread count
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long unreadVersion;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long ownerId;
+        private Long otherUserId;
+    }
+}
@@ -0,0 +1,39 @@
+package com.roomfinder.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The outcome of a request sent with an {@code Idempotency-Key} header, shared by all nodes.
+ * A row without a status code is a claim: the first request is still running.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+public class IdempotencyRecord {
+    // SHA-256 of the user, method, path and client key, so keys of different users never collide
+    @Id
+    @Column(length = 64)
+    private String scopeKey;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    private Integer statusCode;
+
+    private String contentType;
+
+    private byte[] body;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -10,7 +10,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+        @Index(name = "idx_messages_receiver_read", columnList = "receiver_id, is_read"),
+        @Index(name = "idx_messages_sender_receiver_sent_at", columnList = "sender_id, receiver_id, sent_at"),
+        @Index(name = "idx_messages_room_sent_at", columnList = "room_id, sent_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -10,7 +10,13 @@ import java.util.Map;
 
 @Entity
 @Data
-@Table(name = "rooms")
+@Table(name = "rooms", indexes = {
+        @Index(name = "idx_rooms_city_available_price", columnList = "city, is_available, price"),
+        @Index(name = "idx_rooms_available_price_size", columnList = "is_available, price, size"),
+        @Index(name = "idx_rooms_posted_date_id", columnList = "posted_date, id"),
+        @Index(name = "idx_rooms_latitude_longitude", columnList = "latitude, longitude"),
+        @Index(name = "idx_rooms_landlord_id", columnList = "landlord_id, id")
+})
 public class Room {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -35,6 +41,11 @@ public class Room {
 
     private int size;
 
+    // WGS84 coordinates; optional, rooms without them are left out of location searches
+    private Double latitude;
+
+    private Double longitude;
+
     @ElementCollection
     @CollectionTable(name = "room_images", joinColumns = @JoinColumn(name = "room_id"))
     @Column(name = "image_path")
@@ -46,9 +57,14 @@ public class Room {
     private LocalDateTime postedDate = LocalDateTime.now();
 
     @ElementCollection
-    @CollectionTable(name = "room_amenities", joinColumns = @JoinColumn(name = "room_id"))
+    @CollectionTable(name = "room_amenities", joinColumns = @JoinColumn(name = "room_id"),
+            indexes = @Index(name = "idx_room_amenities_name_room", columnList = "amenity_name, room_id"))
     @MapKeyColumn(name = "amenity_name")
     @Column(name = "amenity_value")
     private Map<String, String> amenities = new HashMap<>();
 
+    // Optimistic lock: concurrent edits, availability toggles and approvals cannot silently overwrite each other
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.roomfinder.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Rollup of a room's approved bookings for one calendar month, maintained by OccupancyRollup.
+ * Revenue is not stored: it is projected from the room's current price when the rollup is read.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(RoomOccupancyMonth.Key.class)
+@Table(name = "room_occupancy_monthly")
+public class RoomOccupancyMonth {
+    @Id
+    private Long roomId;
+
+    // First day of the month
+    @Id
+    private LocalDate month;
+
+    @Column(nullable = false)
+    private int bookedDays;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long roomId;
+        private LocalDate month;
+    }
+}
@@ -0,0 +1,5 @@
+package com.roomfinder.enums;
+
+public enum BookingAction {
+    APPROVE, REJECT, CANCEL
+}
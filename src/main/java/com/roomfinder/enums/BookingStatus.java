@@ -1,5 +1,7 @@
 package com.roomfinder.enums;
 
 public enum BookingStatus {
-    PENDING, APPROVED, REJECTED, CANCELLED
-}
\ No newline at end of file
+    PENDING, APPROVED, REJECTED, CANCELLED,
+    // Still pending when its start date passed; set by BookingExpiryJob
+    EXPIRED
+}
@@ -3,6 +3,7 @@ package com.roomfinder.exceptions;
 import com.roomfinder.dto.response.ApiResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -53,6 +54,12 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
 
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        ApiResponse response = new ApiResponse(false, "The record was changed by another request; reload and try again");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     @ExceptionHandler(BookingNotFoundException.class)
     public ResponseEntity<ApiResponse> handleBookingNotFound(BookingNotFoundException ex) {
         ApiResponse response = new ApiResponse(false, ex.getMessage());
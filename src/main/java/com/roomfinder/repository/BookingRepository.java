@@ -2,75 +2,114 @@ package com.roomfinder.repository;
 
 import com.roomfinder.entity.Booking;
 import com.roomfinder.enums.BookingStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
     Page<Booking> findBySeekerIdOrderByIdDesc(Long seekerId, Pageable pageable);
 
     Page<Booking> findByRoomIdOrderByIdDesc(Long roomId, Pageable pageable);
 
     Page<Booking> findByRoomIdAndStatusOrderByIdDesc(Long roomId, BookingStatus status, Pageable pageable);
 
+    // Two closed date ranges overlap when each starts on or before the other ends; EXISTS stops at the first one
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM bookings b WHERE b.room_id = :roomId " +
+            "AND b.status = 'APPROVED' " +
+            "AND b.start_date <= :endDate AND b.end_date >= :startDate)",
+            nativeQuery = true)
+    boolean existsOverlappingApprovedBooking(Long roomId, LocalDate startDate, LocalDate endDate);
+
     @Query("SELECT b FROM Booking b WHERE b.roomId = :roomId " +
+            "AND b.status = 'APPROVED' AND b.endDate >= :from ORDER BY b.startDate")
+    List<Booking> findApprovedBookingsEndingOnOrAfter(Long roomId, LocalDate from);
+
+    @Query("SELECT b.roomId FROM Booking b WHERE b.id = :bookingId")
+    Optional<Long> findRoomIdById(Long bookingId);
+
+    @Query("SELECT DISTINCT b.roomId FROM Booking b WHERE b.id IN :bookingIds")
+    List<Long> findRoomIdsByIdIn(Collection<Long> bookingIds);
+
+    @Query("SELECT b FROM Booking b WHERE b.roomId IN :roomIds " +
             "AND b.status = 'APPROVED' " +
-            "AND ((b.startDate BETWEEN :startDate AND :endDate) " +
-            "OR (b.endDate BETWEEN :startDate AND :endDate))")
-    List<Booking> findOverlappingBookings(Long roomId, LocalDate startDate, LocalDate endDate);
+            "AND b.startDate <= :endDate AND b.endDate >= :startDate")
+    List<Booking> findApprovedBookingsOverlapping(Collection<Long> roomIds, LocalDate startDate, LocalDate endDate);
+
+    // Transaction-scoped Postgres advisory lock, released by the database on commit or rollback
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:key)", nativeQuery = true)
+    Integer acquireAdvisoryXactLock(long key);
 
-    Page<Booking> findByRoomIdInOrderByIdDesc(List<Long> roomIds, Pageable pageable);
+    /**
+     * Advisory lock on {@code id} within {@code namespace}, which fills the high 32 bits of the bigint key.
+     * Ids below 2^32 never share a key with another namespace; a larger id can, which only makes two
+     * unrelated transactions wait for each other.
+     */
+    default void acquireAdvisoryXactLock(int namespace, long id) {
+        acquireAdvisoryXactLock(((long) namespace << 32) ^ id);
+    }
+
+    /**
+     * Expires up to {@code limit} of the oldest pending bookings that start before {@code today}, in its own
+     * transaction. Rows locked by a concurrent approval are skipped and picked up by a later chunk.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE bookings SET status = 'EXPIRED', version = version + 1 WHERE id IN (" +
+            "SELECT id FROM bookings WHERE status = 'PENDING' AND start_date < :today " +
+            "ORDER BY start_date, id LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int expirePendingStartingBefore(LocalDate today, int limit);
+
+    @Query("SELECT MIN(b.startDate) FROM Booking b WHERE b.status = 'PENDING' AND b.startDate < :today")
+    Optional<LocalDate> findOldestPendingStartBefore(LocalDate today);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT b FROM Booking b")
+    Stream<Booking> streamAll();
+
+    // Keyset pagination on id, newest first, no count query
+    List<Booking> findBySeekerIdAndIdLessThanOrderByIdDesc(Long seekerId, Long id, Limit limit);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.roomId IN (SELECT r.id FROM Room r WHERE r.landlordId = :landlordId) " +
+            "AND b.id < :id ORDER BY b.id DESC")
+    List<Booking> findByLandlordIdAndIdLessThan(Long landlordId, Long id, Limit limit);
+
+    // Landlord queries join to rooms rather than binding the landlord's room ids as an IN list,
+    // so the statement and its plan do not depend on how many rooms the landlord has
+    @Query(value = "SELECT b FROM Booking b JOIN Room r ON r.id = b.roomId " +
+            "WHERE r.landlordId = :landlordId ORDER BY b.id DESC",
+            countQuery = "SELECT COUNT(b) FROM Booking b JOIN Room r ON r.id = b.roomId " +
+                    "WHERE r.landlordId = :landlordId")
+    Page<Booking> findByLandlordId(Long landlordId, Pageable pageable);
 
     Page<Booking> findByStatusOrderByIdDesc(BookingStatus status, Pageable pageable);
 
     Page<Booking> findBySeekerIdAndStatusOrderByIdDesc(Long seekerId, BookingStatus status, Pageable pageable);
 
-    Page<Booking> findByRoomIdInAndStatusOrderByIdDesc(List<Long> roomIds, BookingStatus status, Pageable pageable);
+    @Query(value = "SELECT b FROM Booking b JOIN Room r ON r.id = b.roomId " +
+            "WHERE r.landlordId = :landlordId AND b.status = :status ORDER BY b.id DESC",
+            countQuery = "SELECT COUNT(b) FROM Booking b JOIN Room r ON r.id = b.roomId " +
+                    "WHERE r.landlordId = :landlordId AND b.status = :status")
+    Page<Booking> findByLandlordIdAndStatus(Long landlordId, BookingStatus status, Pageable pageable);
 
     Page<Booking> findBySeekerIdAndRoomIdOrderByIdDesc(Long seekerId, Long roomId, Pageable pageable);
 
     Page<Booking> findBySeekerIdAndRoomIdAndStatusOrderByIdDesc(Long seekerId, Long roomId, BookingStatus status, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b WHERE " +
-            "(:seekerId IS NULL OR b.seekerId = :seekerId) AND " +
-            "(:roomId IS NULL OR b.roomId = :roomId) AND " +
-            "(:status IS NULL OR b.status = :status) AND " +
-            "(:startDateFrom IS NULL OR b.startDate >= :startDateFrom) AND " +
-            "(:startDateTo IS NULL OR b.startDate <= :startDateTo) AND " +
-            "(:endDateFrom IS NULL OR b.endDate >= :endDateFrom) AND " +
-            "(:endDateTo IS NULL OR b.endDate <= :endDateTo) " +
-            "ORDER BY b.id DESC")
-    Page<Booking> searchBookings(
-            Long seekerId,
-            Long roomId,
-            BookingStatus status,
-            LocalDate startDateFrom,
-            LocalDate startDateTo,
-            LocalDate endDateFrom,
-            LocalDate endDateTo,
-            Pageable pageable);
-
-    @Query("SELECT b FROM Booking b WHERE b.roomId IN :roomIds AND " +
-            "(:seekerId IS NULL OR b.seekerId = :seekerId) AND " +
-            "(:status IS NULL OR b.status = :status) AND " +
-            "(:startDateFrom IS NULL OR b.startDate >= :startDateFrom) AND " +
-            "(:startDateTo IS NULL OR b.startDate <= :startDateTo) AND " +
-            "(:endDateFrom IS NULL OR b.endDate >= :endDateFrom) AND " +
-            "(:endDateTo IS NULL OR b.endDate <= :endDateTo) " +
-            "ORDER BY b.id DESC")
-    Page<Booking> searchBookingsForLandlord(
-            List<Long> roomIds,
-            Long seekerId,
-            BookingStatus status,
-            LocalDate startDateFrom,
-            LocalDate startDateTo,
-            LocalDate endDateFrom,
-            LocalDate endDateTo,
-            Pageable pageable);
-}
\ No newline at end of file
+}
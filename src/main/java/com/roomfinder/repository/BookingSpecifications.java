@@ -0,0 +1,60 @@
+package com.roomfinder.repository;
+
+import com.roomfinder.dto.request.BookingSearchCriteria;
+import com.roomfinder.entity.Booking;
+import com.roomfinder.entity.Room;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds one booking query from whichever search criteria were supplied.
+ * Unlike {@code (:x IS NULL OR ...)} predicates, which leave the planner one generic plan, only the given
+ * filters are emitted, so each combination can use its composite index: (room_id, status, start_date),
+ * (seeker_id, status) or (status, start_date).
+ */
+public final class BookingSpecifications {
+
+    private BookingSpecifications() {
+    }
+
+    public static Specification<Booking> matching(BookingSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (criteria.getLandlordId() != null) {
+                Subquery<Long> rooms = query.subquery(Long.class);
+                Root<Room> room = rooms.from(Room.class);
+                rooms.select(room.get("id")).where(cb.equal(room.get("landlordId"), criteria.getLandlordId()));
+                predicates.add(root.get("roomId").in(rooms));
+            }
+            if (criteria.getRoomId() != null) {
+                predicates.add(cb.equal(root.get("roomId"), criteria.getRoomId()));
+            }
+            if (criteria.getSeekerId() != null) {
+                predicates.add(cb.equal(root.get("seekerId"), criteria.getSeekerId()));
+            }
+            if (criteria.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), criteria.getStatus()));
+            }
+            if (criteria.getStartDateFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("startDate"), criteria.getStartDateFrom()));
+            }
+            if (criteria.getStartDateTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("startDate"), criteria.getStartDateTo()));
+            }
+            if (criteria.getEndDateFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("endDate"), criteria.getEndDateFrom()));
+            }
+            if (criteria.getEndDateTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("endDate"), criteria.getEndDateTo()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
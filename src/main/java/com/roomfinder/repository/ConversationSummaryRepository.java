@@ -0,0 +1,118 @@
+package com.roomfinder.repository;
+
+import com.roomfinder.entity.ConversationSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ConversationSummaryRepository extends JpaRepository<ConversationSummary, ConversationSummary.Key> {
+
+    List<ConversationSummary> findByOwnerIdOrderByLastSentAtDesc(Long ownerId);
+
+    List<ConversationSummary> findByOwnerId(Long ownerId);
+
+    /**
+     * A row's unread count as written, with the version that orders it against other writes to the row.
+     */
+    interface UnreadCount {
+        int getUnreadCount();
+
+        long getUnreadVersion();
+    }
+
+    /**
+     * Records a new message on the owner's side of the conversation, creating the row on the pair's first
+     * message. The last message only moves forward, so a transaction that commits late with an older
+     * message does not overwrite a newer one. {@code unread} is added to the owner's unread count, and the
+     * new count is returned with the row's new version.
+     */
+    @Query(value = "INSERT INTO conversation_summary " +
+            "(owner_id, other_user_id, last_message_id, last_sender_id, last_content, last_sent_at, unread_count, unread_version) " +
+            "VALUES (:ownerId, :otherUserId, :messageId, :senderId, :content, :sentAt, :unread, " +
+            "  nextval('conversation_unread_version_seq')) " +
+            "ON CONFLICT (owner_id, other_user_id) DO UPDATE SET " +
+            "last_message_id = CASE WHEN EXCLUDED.last_sent_at >= conversation_summary.last_sent_at " +
+            "  THEN EXCLUDED.last_message_id ELSE conversation_summary.last_message_id END, " +
+            "last_sender_id = CASE WHEN EXCLUDED.last_sent_at >= conversation_summary.last_sent_at " +
+            "  THEN EXCLUDED.last_sender_id ELSE conversation_summary.last_sender_id END, " +
+            "last_content = CASE WHEN EXCLUDED.last_sent_at >= conversation_summary.last_sent_at " +
+            "  THEN EXCLUDED.last_content ELSE conversation_summary.last_content END, " +
+            "last_sent_at = GREATEST(EXCLUDED.last_sent_at, conversation_summary.last_sent_at), " +
+            "unread_count = conversation_summary.unread_count + EXCLUDED.unread_count, " +
+            "unread_version = nextval('conversation_unread_version_seq') " +
+            "RETURNING unread_count AS \"unreadCount\", unread_version AS \"unreadVersion\"",
+            nativeQuery = true)
+    UnreadCount recordMessage(@Param("ownerId") Long ownerId,
+                              @Param("otherUserId") Long otherUserId,
+                              @Param("messageId") Long messageId,
+                              @Param("senderId") Long senderId,
+                              @Param("content") String content,
+                              @Param("sentAt") LocalDateTime sentAt,
+                              @Param("unread") int unread);
+
+    /**
+     * Lowers the owner's unread count, not below zero, and returns the new count and version; null when
+     * the pair has no row.
+     */
+    @Query(value = "UPDATE conversation_summary " +
+            "SET unread_count = GREATEST(unread_count - :count, 0), " +
+            "unread_version = nextval('conversation_unread_version_seq') " +
+            "WHERE owner_id = :ownerId AND other_user_id = :otherUserId " +
+            "RETURNING unread_count AS \"unreadCount\", unread_version AS \"unreadVersion\"",
+            nativeQuery = true)
+    UnreadCount decrementUnread(@Param("ownerId") Long ownerId,
+                                @Param("otherUserId") Long otherUserId,
+                                @Param("count") int count);
+
+    /**
+     * Points the owner's row back at the latest remaining message of the pair when its last message was
+     * {@code deletedMessageId}. Leaves the row alone when no message remains.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE conversation_summary cs " +
+            "SET last_message_id = l.id, last_sender_id = l.sender_id, last_content = l.content, last_sent_at = l.sent_at " +
+            "FROM (SELECT m.id, m.sender_id, m.content, m.sent_at FROM messages m " +
+            "      WHERE (m.sender_id = :ownerId AND m.receiver_id = :otherUserId) " +
+            "         OR (m.sender_id = :otherUserId AND m.receiver_id = :ownerId) " +
+            "      ORDER BY m.sent_at DESC, m.id DESC LIMIT 1) l " +
+            "WHERE cs.owner_id = :ownerId AND cs.other_user_id = :otherUserId AND cs.last_message_id = :deletedMessageId",
+            nativeQuery = true)
+    int replaceLastMessage(@Param("ownerId") Long ownerId,
+                           @Param("otherUserId") Long otherUserId,
+                           @Param("deletedMessageId") Long deletedMessageId);
+
+    @Modifying
+    @Query("DELETE FROM ConversationSummary c " +
+            "WHERE c.ownerId = :ownerId AND c.otherUserId = :otherUserId AND c.lastMessageId = :messageId")
+    int deleteIfLastMessage(@Param("ownerId") Long ownerId,
+                            @Param("otherUserId") Long otherUserId,
+                            @Param("messageId") Long messageId);
+
+    /**
+     * Builds both sides of every conversation from the messages table. Rows that already exist are kept.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO conversation_summary " +
+            "(owner_id, other_user_id, last_message_id, last_sender_id, last_content, last_sent_at, unread_count) " +
+            "SELECT owner_id, other_user_id, id, sender_id, content, sent_at, unread FROM (" +
+            "  SELECT s.*, " +
+            "    COUNT(*) FILTER (WHERE s.receiver_id = s.owner_id AND NOT s.is_read) " +
+            "      OVER (PARTITION BY s.owner_id, s.other_user_id) AS unread, " +
+            "    ROW_NUMBER() OVER (PARTITION BY s.owner_id, s.other_user_id ORDER BY s.sent_at DESC, s.id DESC) AS rn " +
+            "  FROM (SELECT m.sender_id AS owner_id, m.receiver_id AS other_user_id, " +
+            "          m.id, m.sender_id, m.receiver_id, m.content, m.sent_at, m.is_read FROM messages m " +
+            "        UNION ALL " +
+            "        SELECT m.receiver_id, m.sender_id, " +
+            "          m.id, m.sender_id, m.receiver_id, m.content, m.sent_at, m.is_read FROM messages m " +
+            "        WHERE m.receiver_id <> m.sender_id) s" +
+            ") t WHERE rn = 1 " +
+            "ON CONFLICT (owner_id, other_user_id) DO NOTHING",
+            nativeQuery = true)
+    int backfill();
+}
@@ -0,0 +1,57 @@
+package com.roomfinder.repository;
+
+import com.roomfinder.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Claims the key for a new request; returns 1 if this caller owns it. An expired row, or a claim older
+     * than {@code staleClaimBefore} whose request never finished, is taken over in the same statement.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_keys (scope_key, request_hash, created_at, expires_at) " +
+            "VALUES (:scopeKey, :requestHash, :now, :expiresAt) " +
+            "ON CONFLICT (scope_key) DO UPDATE SET request_hash = EXCLUDED.request_hash, " +
+            "status_code = NULL, content_type = NULL, body = NULL, " +
+            "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+            "WHERE idempotency_keys.expires_at < :now " +
+            "OR (idempotency_keys.status_code IS NULL AND idempotency_keys.created_at < :staleClaimBefore)",
+            nativeQuery = true)
+    int claim(@Param("scopeKey") String scopeKey,
+              @Param("requestHash") String requestHash,
+              @Param("now") LocalDateTime now,
+              @Param("expiresAt") LocalDateTime expiresAt,
+              @Param("staleClaimBefore") LocalDateTime staleClaimBefore);
+
+    Optional<IdempotencyRecord> findByScopeKeyAndExpiresAtAfter(String scopeKey, LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.statusCode = :statusCode, r.contentType = :contentType, r.body = :body " +
+            "WHERE r.scopeKey = :scopeKey")
+    int complete(@Param("scopeKey") String scopeKey,
+                 @Param("statusCode") int statusCode,
+                 @Param("contentType") String contentType,
+                 @Param("body") byte[] body);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.scopeKey = :scopeKey AND r.statusCode IS NULL")
+    int releaseClaim(@Param("scopeKey") String scopeKey);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,25 +1,72 @@
 package com.roomfinder.repository;
 
 import com.roomfinder.entity.Message;
-import com.roomfinder.service.DirectConversationProjection;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
-    List<Message> findByRoomIdOrderBySentAtDesc(Long roomId);
+    // Keyset pagination on (sent_at, id): newest first before the cursor, oldest first after it
+    @Query("SELECT m FROM Message m WHERE m.roomId = :roomId " +
+            "AND m.sentAt <= :sentAt AND (m.sentAt < :sentAt OR m.id < :id) " +
+            "ORDER BY m.sentAt DESC, m.id DESC")
+    List<Message> findRoomMessagesBefore(@Param("roomId") Long roomId,
+                                         @Param("sentAt") LocalDateTime sentAt,
+                                         @Param("id") Long id,
+                                         Limit limit);
+
+    @Query("SELECT m FROM Message m WHERE m.roomId = :roomId " +
+            "AND m.sentAt >= :sentAt AND (m.sentAt > :sentAt OR m.id > :id) " +
+            "ORDER BY m.sentAt ASC, m.id ASC")
+    List<Message> findRoomMessagesAfter(@Param("roomId") Long roomId,
+                                        @Param("sentAt") LocalDateTime sentAt,
+                                        @Param("id") Long id,
+                                        Limit limit);
 
     List<Message> findBySenderIdAndReceiverIdOrderBySentAtDesc(Long senderId, Long receiverId);
 
     List<Message> findByReceiverIdAndIsReadFalse(Long receiverId);
 
-    // New method for finding unread messages in a room
-    List<Message> findByRoomIdAndReceiverIdAndIsReadFalse(Long roomId, Long receiverId);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Message m WHERE m.id = :id")
+    Optional<Message> findByIdForUpdate(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Message m SET m.isRead = true WHERE m.id = :id AND m.isRead = false")
+    int markRead(@Param("id") Long id);
+
+    /**
+     * Marks the receiver's unread room messages sent up to {@code readUpTo} as read, returning the sender id
+     * and number of messages marked for each sender.
+     */
+    @Query(value = "WITH marked AS (" +
+            "  UPDATE messages SET is_read = true " +
+            "  WHERE room_id = :roomId AND receiver_id = :receiverId AND is_read = false AND sent_at <= :readUpTo " +
+            "  RETURNING sender_id) " +
+            "SELECT sender_id, COUNT(*) FROM marked GROUP BY sender_id",
+            nativeQuery = true)
+    List<Object[]> markRoomMessagesRead(@Param("roomId") Long roomId,
+                                        @Param("receiverId") Long receiverId,
+                                        @Param("readUpTo") LocalDateTime readUpTo);
+
+    @Modifying
+    @Query("UPDATE Message m SET m.isRead = true " +
+            "WHERE m.senderId = :senderId AND m.receiverId = :receiverId AND m.roomId IS NULL " +
+            "AND m.isRead = false AND m.sentAt <= :readUpTo")
+    int markDirectMessagesRead(@Param("senderId") Long senderId,
+                               @Param("receiverId") Long receiverId,
+                               @Param("readUpTo") LocalDateTime readUpTo);
 
     // New method for finding recent messages with pagination
     List<Message> findByReceiverIdOrSenderIdOrderBySentAtDesc(Long receiverId, Long senderId, Pageable pageable);
@@ -29,43 +76,43 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
             "AND m.roomId IS NOT NULL")
     List<Long> findAllRoomsByUserId(Long userId);
 
-    @Query("SELECT m FROM Message m " +
-            "WHERE (m.senderId = :user1 AND m.receiverId = :user2) " +
-            "OR (m.senderId = :user2 AND m.receiverId = :user1) " +
-            "ORDER BY m.sentAt DESC")
-    List<Message> findConversationBetweenUsers(@Param("user1") Long user1,
-                                               @Param("user2") Long user2);
+    /**
+     * Messages between the two users before the cursor, newest first. Each direction is read from the
+     * (sender_id, receiver_id, sent_at) index with its own limit and the two slices are merged, so a page
+     * reads at most twice its size whatever the length of the conversation.
+     */
+    @Query(value = "SELECT * FROM (" +
+            "  (SELECT * FROM messages WHERE sender_id = :userId AND receiver_id = :otherUserId " +
+            "   AND sent_at <= :sentAt AND (sent_at < :sentAt OR id < :id) ORDER BY sent_at DESC, id DESC LIMIT :limit) " +
+            "  UNION " +
+            "  (SELECT * FROM messages WHERE sender_id = :otherUserId AND receiver_id = :userId " +
+            "   AND sent_at <= :sentAt AND (sent_at < :sentAt OR id < :id) ORDER BY sent_at DESC, id DESC LIMIT :limit)" +
+            ") m ORDER BY sent_at DESC, id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<Message> findConversationBefore(@Param("userId") Long userId,
+                                         @Param("otherUserId") Long otherUserId,
+                                         @Param("sentAt") LocalDateTime sentAt,
+                                         @Param("id") Long id,
+                                         @Param("limit") int limit);
+
+    /**
+     * Messages between the two users after the cursor, oldest first.
+     */
+    @Query(value = "SELECT * FROM (" +
+            "  (SELECT * FROM messages WHERE sender_id = :userId AND receiver_id = :otherUserId " +
+            "   AND sent_at >= :sentAt AND (sent_at > :sentAt OR id > :id) ORDER BY sent_at ASC, id ASC LIMIT :limit) " +
+            "  UNION " +
+            "  (SELECT * FROM messages WHERE sender_id = :otherUserId AND receiver_id = :userId " +
+            "   AND sent_at >= :sentAt AND (sent_at > :sentAt OR id > :id) ORDER BY sent_at ASC, id ASC LIMIT :limit)" +
+            ") m ORDER BY sent_at ASC, id ASC LIMIT :limit",
+            nativeQuery = true)
+    List<Message> findConversationAfter(@Param("userId") Long userId,
+                                        @Param("otherUserId") Long otherUserId,
+                                        @Param("sentAt") LocalDateTime sentAt,
+                                        @Param("id") Long id,
+                                        @Param("limit") int limit);
 
     @Query("SELECT DISTINCT CASE WHEN m.senderId = :userId THEN m.receiverId ELSE m.senderId END FROM Message m " +
             "WHERE (m.senderId = :userId OR m.receiverId = :userId)")
     List<Long> findDistinctDirectConversationUserIds(@Param("userId") Long userId);
-
-    @Query(value =
-            "WITH ranked_messages AS (" +
-                    "   SELECT " +
-                    "       CASE WHEN m.sender_id = :userId THEN m.receiver_id ELSE m.sender_id END as otherUserId, " +
-                    "       m.content as lastContent, " +
-                    "       m.sent_at as lastSentAt, " +
-                    "       ROW_NUMBER() OVER (PARTITION BY CASE WHEN m.sender_id = :userId THEN m.receiver_id ELSE m.sender_id END ORDER BY m.sent_at DESC) as rn " +
-                    "   FROM messages m " +
-                    "   WHERE (m.sender_id = :userId OR m.receiver_id = :userId)" +
-                    "), " +
-                    "unread_counts AS (" +
-                    "   SELECT " +
-                    "       m.sender_id as otherUserId, " +
-                    "       COUNT(*) as unreadCount " +
-                    "   FROM messages m " +
-                    "   WHERE m.receiver_id = :userId AND m.is_read = false " +
-                    "   GROUP BY m.sender_id" +
-                    ") " +
-                    "SELECT " +
-                    "   CAST(:userId AS BIGINT) as ownUserId, " +
-                    "   rm.otherUserId as otherUserId, " +
-                    "   rm.lastContent as lastContent, " +
-                    "   rm.lastSentAt as lastSentAt, " +
-                    "   COALESCE(uc.unreadCount, 0) as unreadCount " +
-                    "FROM ranked_messages rm " +
-                    "LEFT JOIN unread_counts uc ON rm.otherUserId = uc.otherUserId " +
-                    "WHERE rm.rn = 1", nativeQuery = true)
-    List<DirectConversationProjection> findDirectConversationsWithDetails(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.roomfinder.repository;
+
+import com.roomfinder.entity.RoomOccupancyMonth;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RoomOccupancyRepository extends JpaRepository<RoomOccupancyMonth, RoomOccupancyMonth.Key> {
+
+    /**
+     * Recomputes the monthly rollups of the given rooms from their approved bookings, both ends of a booking
+     * inclusive. Months that no longer have a booked day are deleted. Overlapping legacy bookings count each
+     * day once.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "WITH fresh AS (" +
+            "  SELECT b.room_id, CAST(date_trunc('month', d) AS date) AS month, COUNT(DISTINCT d) AS booked_days" +
+            "  FROM bookings b CROSS JOIN LATERAL generate_series(b.start_date, b.end_date, interval '1 day') AS d" +
+            "  WHERE b.room_id IN (:roomIds) AND b.status = 'APPROVED'" +
+            "  GROUP BY 1, 2), " +
+            "stale AS (" +
+            "  DELETE FROM room_occupancy_monthly o WHERE o.room_id IN (:roomIds)" +
+            "  AND NOT EXISTS (SELECT 1 FROM fresh f WHERE f.room_id = o.room_id AND f.month = o.month)) " +
+            "INSERT INTO room_occupancy_monthly (room_id, month, booked_days) " +
+            "SELECT room_id, month, booked_days FROM fresh " +
+            "ON CONFLICT (room_id, month) DO UPDATE SET booked_days = EXCLUDED.booked_days",
+            nativeQuery = true)
+    int refreshRooms(@Param("roomIds") Collection<Long> roomIds);
+
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM rooms", nativeQuery = true)
+    long findMaxRoomId();
+
+    /**
+     * Room id, title, city, price, month and booked days of the landlord's rooms with bookings in
+     * {@code [from, to]}, by room and month.
+     */
+    @Query("SELECT r.id, r.title, r.city, r.price, o.month, o.bookedDays " +
+            "FROM RoomOccupancyMonth o JOIN Room r ON r.id = o.roomId " +
+            "WHERE r.landlordId = :landlordId AND o.month BETWEEN :from AND :to " +
+            "ORDER BY r.id, o.month")
+    List<Object[]> findLandlordMonths(@Param("landlordId") Long landlordId,
+                                      @Param("from") LocalDate from,
+                                      @Param("to") LocalDate to);
+}
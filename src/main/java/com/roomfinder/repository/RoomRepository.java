@@ -1,18 +1,28 @@
 package com.roomfinder.repository;
 
 import com.roomfinder.entity.Room;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface RoomRepository extends JpaRepository<Room, Long> {
+public interface RoomRepository extends JpaRepository<Room, Long>, JpaSpecificationExecutor<Room> {
     Page<Room> findByLandlordId(Long landlordId, Pageable pageable);
 
     Page<Room> findByCityAndAvailableTrue(String city, Pageable pageable);
@@ -24,8 +34,67 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
             "LENGTH(r.address) - LENGTH(REPLACE(r.address, :address, '')) DESC")
     Page<Room> findRoomsBySimilarAddress(String address, Pageable pageable);
 
+    // Streams every room for the startup index rebuild; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r FROM Room r")
+    Stream<Room> streamAll();
+
+    // Just the columns the in-memory statistics need, for the periodic reconcile scan
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r.id, r.city, r.price, r.available FROM Room r")
+    Stream<Object[]> streamStatsRows();
+
+    // Keyset pagination: newest first on (postedDate, id), no count query
+    @Query("SELECT r FROM Room r ORDER BY r.postedDate DESC, r.id DESC")
+    List<Room> findNewestFirst(Limit limit);
+
+    @Query("SELECT r FROM Room r WHERE (r.postedDate, r.id) < (:postedDate, :id) " +
+            "ORDER BY r.postedDate DESC, r.id DESC")
+    List<Room> findNewestFirstAfter(LocalDateTime postedDate, Long id, Limit limit);
+
+    // Element collections for a whole page of rooms, one statement each instead of one per room
+    @Query("SELECT r.id, i FROM Room r JOIN r.images i WHERE r.id IN :roomIds")
+    List<Object[]> findImagesByRoomIds(Collection<Long> roomIds);
+
+    @Query("SELECT r.id, KEY(a), VALUE(a) FROM Room r JOIN r.amenities a WHERE r.id IN :roomIds")
+    List<Object[]> findAmenitiesByRoomIds(Collection<Long> roomIds);
+
+    // Haversine distance in km from (:lat, :lng), the same formula as GeoIndex.distanceKm
+    String DISTANCE_KM = "2 * 6371.0088 * asin(least(1, sqrt(" +
+            "power(sin(radians(r.latitude - :lat) / 2), 2) + " +
+            "cos(radians(:lat)) * cos(radians(r.latitude)) * power(sin(radians(r.longitude - :lng) / 2), 2))))";
+
+    // The bounding box narrows the scan to the latitude/longitude index; minLng > maxLng crosses the antimeridian
+    String AVAILABLE_WITHIN_RADIUS = "FROM rooms r WHERE r.is_available = true " +
+            "AND r.latitude BETWEEN :minLat AND :maxLat " +
+            "AND ((:minLng <= :maxLng AND r.longitude BETWEEN :minLng AND :maxLng) " +
+            "OR (:minLng > :maxLng AND (r.longitude >= :minLng OR r.longitude <= :maxLng))) " +
+            "AND " + DISTANCE_KM + " <= :radiusKm ";
+
+    // Radius search used while the geo index is still loading: one page of ids, nearest first
+    @Query(value = "SELECT r.id " + AVAILABLE_WITHIN_RADIUS + "ORDER BY " + DISTANCE_KM + ", r.id",
+            countQuery = "SELECT count(*) " + AVAILABLE_WITHIN_RADIUS,
+            nativeQuery = true)
+    Page<Long> findAvailableIdsWithinRadius(double lat, double lng, double radiusKm,
+                                            double minLat, double maxLat, double minLng, double maxLng,
+                                            Pageable pageable);
+
+    // Bounding-box lookup used while the geo index is still loading, one page at a time
+    @Query("SELECT r FROM Room r WHERE r.available = true " +
+            "AND r.latitude BETWEEN :minLat AND :maxLat " +
+            "AND ((:minLng <= :maxLng AND r.longitude BETWEEN :minLng AND :maxLng) " +
+            "OR (:minLng > :maxLng AND (r.longitude >= :minLng OR r.longitude <= :maxLng)))")
+    Page<Room> findAvailableWithinBounds(double minLat, double maxLat, double minLng, double maxLng, Pageable pageable);
+
+    // Detail view: the room with its images and amenities in one statement
+    @EntityGraph(attributePaths = {"images", "amenities"})
+    Optional<Room> findWithCollectionsById(Long id);
+
     Optional<Room> findByIdAndLandlordId(Long id, Long landlordId);
 
+    @Query("SELECT r.id FROM Room r WHERE r.id IN :ids AND r.landlordId = :landlordId")
+    List<Long> findIdsByIdInAndLandlordId(Collection<Long> ids, Long landlordId);
+
     @Query("SELECT r.id FROM Room r WHERE r.landlordId = :landlordId")
     List<Long> findRoomIdsByLandlordId(Long landlordId);
 
@@ -78,4 +147,7 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     @Query("SELECT r.city, COUNT(r) as count FROM Room r GROUP BY r.city ORDER BY count DESC")
     List<Object[]> countRoomsByCity();
 
+    @Query("SELECT r.city, COUNT(r) FROM Room r WHERE r.landlordId = :landlordId GROUP BY r.city")
+    List<Object[]> countRoomsByCityForLandlord(@Param("landlordId") Long landlordId);
+
 }
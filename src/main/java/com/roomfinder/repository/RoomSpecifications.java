@@ -0,0 +1,89 @@
+package com.roomfinder.repository;
+
+import com.roomfinder.dto.request.RoomSearchCriteria;
+import com.roomfinder.entity.Booking;
+import com.roomfinder.entity.Room;
+import com.roomfinder.enums.BookingStatus;
+import com.roomfinder.utils.RoomAttributes;
+import jakarta.persistence.criteria.MapJoin;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds one room query from whichever search criteria were supplied.
+ * Only the given filters become predicates, so the planner can pick the matching composite index.
+ */
+public final class RoomSpecifications {
+
+    private RoomSpecifications() {
+    }
+
+    public static Specification<Room> matching(RoomSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (criteria.getCity() != null && !criteria.getCity().isBlank()) {
+                // Same trimmed, case-insensitive match as the facet index; backed by an expression index
+                predicates.add(cb.equal(cb.lower(cb.trim(root.get("city"))), RoomAttributes.normalize(criteria.getCity())));
+            }
+            if (criteria.getAvailable() != null) {
+                predicates.add(cb.equal(root.get("available"), criteria.getAvailable()));
+            }
+            if (criteria.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), criteria.getMinPrice()));
+            }
+            if (criteria.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), criteria.getMaxPrice()));
+            }
+            if (criteria.getMinSize() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("size"), criteria.getMinSize()));
+            }
+            if (criteria.getMaxSize() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("size"), criteria.getMaxSize()));
+            }
+            if (criteria.getAddress() != null && !criteria.getAddress().isBlank()) {
+                predicates.add(cb.like(cb.lower(root.get("address")),
+                        "%" + criteria.getAddress().trim().toLowerCase() + "%"));
+            }
+            if (criteria.getAmenities() != null) {
+                for (String amenity : criteria.getAmenities()) {
+                    if (amenity != null && !amenity.isBlank()) {
+                        // One EXISTS per amenity keeps the outer query free of duplicate rows
+                        Subquery<Long> subquery = query.subquery(Long.class);
+                        Root<Room> inner = subquery.correlate(root);
+                        MapJoin<Room, String, String> amenities = inner.joinMap("amenities");
+                        // Values such as "no" or "none" mean the room does not offer it, as in the facet index
+                        subquery.select(cb.literal(1L))
+                                .where(cb.equal(cb.lower(cb.trim(amenities.key())), RoomAttributes.normalize(amenity)),
+                                        cb.not(cb.lower(cb.trim(amenities.value())).in(RoomAttributes.ABSENT_AMENITY_VALUES)));
+                        predicates.add(cb.exists(subquery));
+                    }
+                }
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Rooms with no approved booking sharing a day with {@code [from, to]}.
+     */
+    public static Specification<Room> freeBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Booking> booking = subquery.from(Booking.class);
+            subquery.select(cb.literal(1L))
+                    .where(cb.equal(booking.get("roomId"), root.get("id")),
+                            cb.equal(booking.get("status"), BookingStatus.APPROVED),
+                            cb.lessThanOrEqualTo(booking.get("startDate"), to),
+                            cb.greaterThanOrEqualTo(booking.get("endDate"), from));
+            return cb.not(cb.exists(subquery));
+        };
+    }
+}
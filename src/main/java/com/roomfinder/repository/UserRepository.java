@@ -2,6 +2,7 @@ package com.roomfinder.repository;
 
 import com.roomfinder.entity.User;
 import com.roomfinder.enums.UserRole;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -29,6 +30,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByUsername(String username);
 
+    // Keyset pagination on id, no count query
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
     @Query("SELECT u FROM User u WHERE " +
             "LOWER(u.username) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(u.email) LIKE LOWER(CONCAT('%', :keyword, '%'))")
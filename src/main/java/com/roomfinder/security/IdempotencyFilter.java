@@ -0,0 +1,207 @@
+package com.roomfinder.security;
+
+import com.roomfinder.service.idempotency.IdempotencyStore;
+import com.roomfinder.service.idempotency.IdempotencyStore.Claim;
+import com.roomfinder.service.idempotency.IdempotencyStore.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Makes retried creates safe: a POST to a covered endpoint carrying an {@code Idempotency-Key} header runs
+ * once per user and key, and every retry gets the first successful response back with
+ * {@code Idempotent-Replayed: true}. Failed requests release the key, since they created nothing.
+ * Runs after authorization so keys are scoped to the authenticated user.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    // Endpoints whose retries would otherwise create a second booking or message
+    private static final Set<String> COVERED_ENDPOINTS = Set.of("/api/bookings", "/api/messages");
+
+    private final IdempotencyStore store;
+
+    public IdempotencyFilter(IdempotencyStore store) {
+        this.store = store;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !COVERED_ENDPOINTS.contains(request.getRequestURI())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            sendErrorResponse(response, HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String scopeKey = sha256(String.join("\n", authentication.getName(), request.getMethod(),
+                request.getRequestURI(), key).getBytes(StandardCharsets.UTF_8));
+        String requestHash = sha256(cachedRequest.body);
+
+        Claim claim = store.begin(scopeKey, requestHash);
+        switch (claim.state()) {
+            case REPLAY -> replay(response, claim.response());
+            case IN_PROGRESS -> sendErrorResponse(response, HttpStatus.CONFLICT,
+                    "A request with this Idempotency-Key is still being processed");
+            case MISMATCH -> sendErrorResponse(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "This Idempotency-Key was already used for a different request");
+            case ACQUIRED -> runOnce(cachedRequest, response, chain, scopeKey, requestHash);
+        }
+    }
+
+    private void runOnce(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                         String scopeKey, String requestHash) throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean succeeded = false;
+        try {
+            chain.doFilter(request, cachingResponse);
+            succeeded = cachingResponse.getStatus() / 100 == 2;
+        } finally {
+            if (succeeded) {
+                storeQuietly(scopeKey, new StoredResponse(requestHash, cachingResponse.getStatus(),
+                        cachingResponse.getContentType(), cachingResponse.getContentAsByteArray()));
+            } else {
+                releaseQuietly(scopeKey);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    // The request already ran, so a bookkeeping failure must not turn its response into an error
+    private void storeQuietly(String scopeKey, StoredResponse stored) {
+        try {
+            store.complete(scopeKey, stored);
+        } catch (RuntimeException e) {
+            logger.warn("Could not store idempotent response; retries wait for the claim timeout: {}", e.getMessage());
+        }
+    }
+
+    private void releaseQuietly(String scopeKey) {
+        try {
+            store.release(scopeKey);
+        } catch (RuntimeException e) {
+            logger.warn("Could not release idempotency key; it frees up after the claim timeout: {}", e.getMessage());
+        }
+    }
+
+    private void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void sendErrorResponse(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType("application/json");
+        response.getWriter().write(String.format(
+                "{\"status\":%d,\"error\":\"%s\",\"message\":\"%s\"}",
+                status.value(),
+                status.getReasonPhrase(),
+                message
+        ));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads the body up front so it can be hashed and still be read by the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.roomfinder.service;
+
+import com.roomfinder.dto.response.OccupancyReportResponse;
+
+import java.time.YearMonth;
+
+public interface AnalyticsService {
+    OccupancyReportResponse getLandlordOccupancy(Long landlordId, YearMonth from, YearMonth to);
+}
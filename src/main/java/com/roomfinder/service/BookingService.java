@@ -1,12 +1,18 @@
 package com.roomfinder.service;
 
 import com.roomfinder.dto.request.BookingRequest;
+import com.roomfinder.dto.response.AvailabilityWindowResponse;
+import com.roomfinder.dto.response.BatchBookingResponse;
+import com.roomfinder.dto.response.BookingCalendarResponse;
+import com.roomfinder.dto.response.CursorPage;
 import com.roomfinder.entity.Booking;
+import com.roomfinder.enums.BookingAction;
 import com.roomfinder.enums.BookingStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.util.List;
 
 public interface BookingService {
     Booking createBooking(BookingRequest request, Long seekerId);
@@ -17,12 +23,18 @@ public interface BookingService {
 
     Booking cancelBooking(Long bookingId, Long seekerId);
 
+    BatchBookingResponse applyBatch(BookingAction action, List<Long> bookingIds, Long userId);
+
     Booking updateBooking(Long bookingId, BookingRequest request, Long seekerId);
 
     void deleteBooking(Long bookingId, Long userId);
 
     Booking getBookingById(Long bookingId);
 
+    AvailabilityWindowResponse findNextAvailableWindow(Long roomId, LocalDate from, int days);
+
+    BookingCalendarResponse getRoomCalendar(Long roomId, LocalDate from, LocalDate to, String encoding);
+
     Page<Booking> getBookingsBySeeker(Long seekerId, Pageable pageable);
 
     Page<Booking> getBookingsByRoom(Long roomId, Pageable pageable);
@@ -31,6 +43,10 @@ public interface BookingService {
 
     Page<Booking> getBookingsByLandlord(Long landlordId, Pageable pageable);
 
+    CursorPage<Booking> scrollBookingsBySeeker(Long seekerId, String cursor, int size);
+
+    CursorPage<Booking> scrollBookingsByLandlord(Long landlordId, String cursor, int size);
+
     Page<Booking> getBookingsByStatus(BookingStatus status, Pageable pageable);
 
     Page<Booking> getBookingsBySeekerAndStatus(Long seekerId, BookingStatus status, Pageable pageable);
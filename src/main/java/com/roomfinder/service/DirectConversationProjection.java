@@ -1,11 +0,0 @@
-package com.roomfinder.service;
-
-import java.time.LocalDateTime;
-
-public interface DirectConversationProjection {
-    Long getOwnUserId();
-    Long getOtherUserId();
-    String getLastContent();
-    LocalDateTime getLastSentAt();
-    Integer getUnreadCount();
-}
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.roomfinder.service;
 
 import com.roomfinder.dto.request.MessageRequest;
+import com.roomfinder.dto.response.CursorPage;
 import com.roomfinder.dto.response.DirectConversationResponse;
 import com.roomfinder.dto.response.MessageResponse;
+import com.roomfinder.dto.response.UnreadCountResponse;
 import com.roomfinder.entity.Message;
 
 import java.util.List;
@@ -11,11 +13,13 @@ public interface MessageService {
     Message sendMessage(Long senderId, MessageRequest request);
     MessageResponse sendAndNotifyMessage(Long senderId, MessageRequest request);
     void markAsRead(Long messageId, Long userId);
-    void markMessagesAsRead(Long roomId, Long currentUserId);
+    int markMessagesAsRead(Long roomId, Long currentUserId);
+    int markConversationAsRead(Long otherUserId, Long currentUserId);
     void deleteMessage(Long messageId, Long userId);
-    List<Message> getRoomMessages(Long roomId, Long userId);
-    List<Message> getConversation(Long otherUserId, Long currentUserId);
+    CursorPage<Message> getRoomMessages(Long roomId, Long userId, String before, String after, int size);
+    CursorPage<Message> getConversation(Long otherUserId, Long currentUserId, String before, String after, int size);
     List<Message> getUnreadMessages(Long userId);
+    UnreadCountResponse getUnreadCount(Long userId);
     List<Long> getUserRooms(Long userId);
     List<DirectConversationResponse> getDirectConversations(Long userId);
     Message getMessageById(Long messageId);
@@ -1,14 +1,21 @@
 package com.roomfinder.service;
 
 import com.roomfinder.dto.request.RoomRequest;
+import com.roomfinder.dto.request.RoomSearchCriteria;
+import com.roomfinder.dto.response.CursorPage;
+import com.roomfinder.dto.response.FacetSearchResponse;
+import com.roomfinder.dto.response.RoomSummaryResponse;
 import com.roomfinder.entity.Room;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public interface RoomService {
     Room createRoom(RoomRequest request, Long landlordId);
@@ -19,25 +26,41 @@ public interface RoomService {
 
     Room getRoomById(Long roomId);
 
-    Page<Room> getRoomsByLandlord(Long landlordId, Pageable pageable);
+    Page<RoomSummaryResponse> getRoomsByLandlord(Long landlordId, Pageable pageable);
 
-    Page<Room> getAllRooms(Pageable pageable);
+    Page<RoomSummaryResponse> getAllRooms(Pageable pageable);
 
-    Page<Room> searchRooms(String city, Double maxPrice, String address, Pageable pageable);
+    CursorPage<RoomSummaryResponse> scrollRooms(String cursor, int size);
+
+    Page<RoomSummaryResponse> searchRooms(RoomSearchCriteria criteria, Pageable pageable);
+
+    Page<RoomSummaryResponse> fuzzySearchRooms(String query, Pageable pageable);
+
+    FacetSearchResponse facetSearch(RoomSearchCriteria criteria, Pageable pageable);
+
+    Page<RoomSummaryResponse> searchAvailableRooms(RoomSearchCriteria criteria, LocalDate from, LocalDate to, Pageable pageable);
+
+    Page<RoomSummaryResponse> findNearbyRooms(double latitude, double longitude, double radiusKm, Pageable pageable);
+
+    Page<RoomSummaryResponse> findRoomsWithinBounds(double minLat, double maxLat, double minLng, double maxLng, Pageable pageable);
 
     void toggleAvailability(Long roomId, Long landlordId);
 
     void setAvailability(Long roomId, Long landlordId, boolean available);
 
+    void setAvailability(Collection<Long> roomIds, Long landlordId, boolean available);
+
     String saveImage(MultipartFile file);
 
     boolean isRoomOwner(Long roomId, Long landlordId);
 
+    Set<Long> findOwnedRoomIds(Collection<Long> roomIds, Long landlordId);
+
     Long getRoomOwnerId(Long roomId);
 
     List<Long> getRoomIdsByLandlordId(Long landlordId);
 
-    Page<Room> getNewListingsLast7Days(Pageable pageable);
+    Page<RoomSummaryResponse> getNewListingsLast7Days(Pageable pageable);
 
     Double getAveragePriceLast7Days();
 
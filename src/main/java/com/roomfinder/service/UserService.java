@@ -3,6 +3,7 @@ package com.roomfinder.service;
 import com.roomfinder.dto.request.RegisterRequest;
 import com.roomfinder.dto.request.UpdateProfileRequest;
 import com.roomfinder.dto.request.ValidateUsersRequest;
+import com.roomfinder.dto.response.CursorPage;
 import com.roomfinder.dto.response.GrowthTrendResponse;
 import com.roomfinder.entity.User;
 import org.springframework.data.domain.Page;
@@ -32,6 +33,8 @@ public interface UserService {
 
     Page<User> getAllUsers(Pageable pageable);
 
+    CursorPage<User> scrollUsers(String cursor, int size);
+
     Page<User> getAllSeekers(Pageable pageable);
 
     Page<User> getAllLandlords(Pageable pageable);
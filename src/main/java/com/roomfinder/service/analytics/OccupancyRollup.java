@@ -0,0 +1,86 @@
+package com.roomfinder.service.analytics;
+
+import com.roomfinder.repository.BookingRepository;
+import com.roomfinder.repository.RoomOccupancyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Keeps {@code room_occupancy_monthly} in step with approved bookings.
+ * Every booking write that changes a room's approved set refreshes that room's rows in the same
+ * transaction, so the rollup commits or rolls back with the booking; CSV imports refresh the rooms they
+ * touched the same way. A nightly rebuild walks all rooms in chunks to correct anything written around
+ * the service; on startup it also backfills an empty table.
+ */
+@Component
+public class OccupancyRollup implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyRollup.class);
+
+    // Kept apart from the room approval locks, which may already be held by the refreshing transaction
+    static final int ADVISORY_NAMESPACE = 0x4f434355;
+
+    private final RoomOccupancyRepository occupancyRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public OccupancyRollup(RoomOccupancyRepository occupancyRepository, BookingRepository bookingRepository,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${app.analytics.rebuild-chunk-size:200}") int chunkSize) {
+        this.occupancyRepository = occupancyRepository;
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Recomputes the rooms' monthly rollups inside the caller's transaction, after its booking changes.
+     * Rooms are locked in id order until the transaction completes, so two transactions refreshing the
+     * same room run one after the other and the second sees the first one's bookings. Returns the number of
+     * month rows written.
+     */
+    public int refresh(Collection<Long> roomIds) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Occupancy rollups must be refreshed inside a transaction");
+        }
+        List<Long> sorted = roomIds.stream().distinct().sorted().toList();
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        sorted.forEach(roomId -> bookingRepository.acquireAdvisoryXactLock(ADVISORY_NAMESPACE, roomId));
+        return occupancyRepository.refreshRooms(sorted);
+    }
+
+    @Override
+    public void run(String... args) {
+        if (occupancyRepository.count() == 0) {
+            rebuildAll();
+        }
+    }
+
+    /**
+     * Refreshes every room, one transaction per chunk of room ids.
+     */
+    @Scheduled(cron = "${app.analytics.rebuild-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        long maxRoomId = occupancyRepository.findMaxRoomId();
+        long rows = 0;
+        for (long from = 1; from <= maxRoomId; from += chunkSize) {
+            List<Long> roomIds = LongStream.range(from, Math.min(from + chunkSize, maxRoomId + 1)).boxed().toList();
+            rows += transactionTemplate.execute(status -> refresh(roomIds));
+        }
+        logger.info("Rebuilt {} monthly occupancy rollups for rooms up to id {} in {} ms",
+                rows, maxRoomId, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,55 @@
+package com.roomfinder.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.roomfinder.entity.Room;
+import com.roomfinder.service.index.RoomIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of room details by id, evicted by size and time since write.
+ * It registers as a {@link RoomIndex} so every room write path invalidates the entry after commit.
+ * Cached rooms are shared between requests and must be treated as read-only.
+ * Hit, miss and eviction counts are published as the {@code cache.*} meters tagged {@code cache=rooms}.
+ */
+@Component
+public class RoomCache implements RoomIndex {
+
+    private final Cache<Long, Room> cache;
+
+    public RoomCache(MeterRegistry meterRegistry,
+                     @Value("${app.cache.rooms.max-size:10000}") long maxSize,
+                     @Value("${app.cache.rooms.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "rooms");
+    }
+
+    public Room get(Long roomId, Function<Long, Room> loader) {
+        return cache.get(roomId, loader);
+    }
+
+    @Override
+    public void index(Room room) {
+        cache.invalidate(room.getId());
+    }
+
+    @Override
+    public void remove(Long roomId) {
+        cache.invalidate(roomId);
+    }
+
+    @Override
+    public void clear() {
+        cache.invalidateAll();
+    }
+}
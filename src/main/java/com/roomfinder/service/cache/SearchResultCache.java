@@ -0,0 +1,111 @@
+package com.roomfinder.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.roomfinder.dto.request.RoomSearchCriteria;
+import com.roomfinder.entity.Room;
+import com.roomfinder.service.index.IdPage;
+import com.roomfinder.service.index.RoomIndex;
+import com.roomfinder.utils.RoomAttributes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches the id page of a room search under its normalized criteria and pageable.
+ * When a room changes, only entries that could contain it are dropped: searches filtered to its old or new
+ * city, and searches with no city filter. A result computed while an invalidation happened is not stored,
+ * so a search racing a write cannot cache the pre-write state.
+ */
+@Component
+public class SearchResultCache implements RoomIndex {
+
+    private final Cache<SearchKey, IdPage> cache;
+    private final Map<Long, String> roomCities = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    record SearchKey(String city, String address, Double minPrice, Double maxPrice, Integer minSize,
+                     Integer maxSize, List<String> amenities, Boolean available, int page, int size, String sort) {
+    }
+
+    public SearchResultCache(MeterRegistry meterRegistry,
+                             @Value("${app.cache.searches.max-size:5000}") long maxSize,
+                             @Value("${app.cache.searches.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "room-searches");
+    }
+
+    public IdPage get(RoomSearchCriteria criteria, Pageable pageable, Supplier<IdPage> search) {
+        SearchKey key = keyOf(criteria, pageable);
+        IdPage cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long before = generation.get();
+        IdPage result = search.get();
+        if (generation.get() == before) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    @Override
+    public void index(Room room) {
+        String previous = roomCities.put(room.getId(), normalizeCity(room.getCity()));
+        invalidate(previous, normalizeCity(room.getCity()));
+    }
+
+    @Override
+    public void remove(Long roomId) {
+        invalidate(roomCities.remove(roomId), null);
+    }
+
+    @Override
+    public void clear() {
+        generation.incrementAndGet();
+        roomCities.clear();
+        cache.invalidateAll();
+    }
+
+    private void invalidate(String oldCity, String newCity) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.city() == null
+                || key.city().equalsIgnoreCase(Objects.requireNonNullElse(oldCity, ""))
+                || key.city().equalsIgnoreCase(Objects.requireNonNullElse(newCity, "")));
+    }
+
+    static SearchKey keyOf(RoomSearchCriteria criteria, Pageable pageable) {
+        String city = criteria.getCity() == null || criteria.getCity().isBlank()
+                ? null : RoomAttributes.normalize(criteria.getCity());
+        String address = criteria.getAddress() == null || criteria.getAddress().isBlank()
+                ? null : criteria.getAddress().trim().toLowerCase(Locale.ROOT);
+        List<String> amenities = criteria.getAmenities() == null ? List.of() : criteria.getAmenities().stream()
+                .filter(a -> a != null && !a.isBlank())
+                .map(RoomAttributes::normalize)
+                .distinct()
+                .sorted()
+                .toList();
+        return new SearchKey(city, address, criteria.getMinPrice(), criteria.getMaxPrice(), criteria.getMinSize(),
+                criteria.getMaxSize(), amenities, criteria.getAvailable(), pageable.getPageNumber(),
+                pageable.getPageSize(), pageable.getSort().toString());
+    }
+
+    private static String normalizeCity(String city) {
+        return city == null ? null : city.trim();
+    }
+}
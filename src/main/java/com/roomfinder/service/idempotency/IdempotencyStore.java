@@ -0,0 +1,127 @@
+package com.roomfinder.service.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.roomfinder.entity.IdempotencyRecord;
+import com.roomfinder.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Responses of requests sent with an {@code Idempotency-Key}, kept for {@code app.idempotency.ttl}.
+ * The database row is the source of truth across nodes: inserting it is how a request claims its key, so
+ * two concurrent retries cannot both run. Completed responses are also held in a bounded local cache, so a
+ * retry landing on the same node is answered without a query.
+ * Hit, miss and eviction counts are published as the {@code cache.*} meters tagged {@code cache=idempotency}.
+ */
+@Component
+public class IdempotencyStore {
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyRecordRepository repository;
+    private final Cache<String, StoredResponse> completed;
+    private final Duration ttl;
+    private final Duration claimTimeout;
+
+    public enum State {
+        /** The caller owns the key and must run the request, then {@link #complete} or {@link #release}. */
+        ACQUIRED,
+        /** The request already completed; send back {@link Claim#response()}. */
+        REPLAY,
+        /** Another request with the same key is still running. */
+        IN_PROGRESS,
+        /** The key was already used for a different request body. */
+        MISMATCH
+    }
+
+    public record StoredResponse(String requestHash, int status, String contentType, byte[] body) {
+    }
+
+    public record Claim(State state, StoredResponse response) {
+
+        static Claim of(State state) {
+            return new Claim(state, null);
+        }
+    }
+
+    public IdempotencyStore(IdempotencyRecordRepository repository, MeterRegistry meterRegistry,
+                            @Value("${app.idempotency.cache.max-size:10000}") long maxSize,
+                            @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${app.idempotency.claim-timeout:1m}") Duration claimTimeout) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.claimTimeout = claimTimeout;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency");
+    }
+
+    public Claim begin(String scopeKey, String requestHash) {
+        StoredResponse cached = completed.getIfPresent(scopeKey);
+        if (cached != null) {
+            return replayOrMismatch(cached, requestHash);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (repository.claim(scopeKey, requestHash, now, now.plus(ttl), now.minus(claimTimeout)) == 1) {
+            return Claim.of(State.ACQUIRED);
+        }
+
+        // Lost the insert: the key is either still running elsewhere or already has a response
+        Optional<IdempotencyRecord> existing = repository.findByScopeKeyAndExpiresAtAfter(scopeKey, now);
+        if (existing.isEmpty()) {
+            // Released or expired since the insert; the client's next retry claims it
+            return Claim.of(State.IN_PROGRESS);
+        }
+        IdempotencyRecord record = existing.get();
+        if (!record.getRequestHash().equals(requestHash)) {
+            return Claim.of(State.MISMATCH);
+        }
+        if (record.getStatusCode() == null) {
+            return Claim.of(State.IN_PROGRESS);
+        }
+        StoredResponse response = new StoredResponse(
+                record.getRequestHash(), record.getStatusCode(), record.getContentType(), record.getBody());
+        completed.put(scopeKey, response);
+        return new Claim(State.REPLAY, response);
+    }
+
+    public void complete(String scopeKey, StoredResponse response) {
+        repository.complete(scopeKey, response.status(), response.contentType(), response.body());
+        completed.put(scopeKey, response);
+    }
+
+    /**
+     * Gives the key back after a failed request, so a retry runs it again.
+     */
+    public void release(String scopeKey) {
+        repository.releaseClaim(scopeKey);
+    }
+
+    @Scheduled(initialDelayString = "${app.idempotency.purge-interval:PT1H}",
+            fixedDelayString = "${app.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int purged = repository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private static Claim replayOrMismatch(StoredResponse response, String requestHash) {
+        return response.requestHash().equals(requestHash)
+                ? new Claim(State.REPLAY, response)
+                : Claim.of(State.MISMATCH);
+    }
+}
@@ -0,0 +1,97 @@
+package com.roomfinder.service.impl;
+
+import com.roomfinder.dto.response.OccupancyReportResponse;
+import com.roomfinder.dto.response.OccupancyStatResponse;
+import com.roomfinder.exceptions.ValidationException;
+import com.roomfinder.repository.RoomOccupancyRepository;
+import com.roomfinder.repository.RoomRepository;
+import com.roomfinder.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    static final int MAX_RANGE_MONTHS = 24;
+
+    private final RoomOccupancyRepository occupancyRepository;
+    private final RoomRepository roomRepository;
+
+    /**
+     * Reads the monthly rollups of the landlord's rooms rather than their bookings, so the cost grows with
+     * rooms and months, not with booking history. A city's available days count every room the landlord
+     * lists there now.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OccupancyReportResponse getLandlordOccupancy(Long landlordId, YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("'from' must not be after 'to'");
+        }
+        if (from.plusMonths(MAX_RANGE_MONTHS).isBefore(to.plusMonths(1))) {
+            throw new ValidationException("Occupancy reports cover at most " + MAX_RANGE_MONTHS + " months");
+        }
+
+        Map<String, Long> roomsPerCity = new TreeMap<>();
+        for (Object[] row : roomRepository.countRoomsByCityForLandlord(landlordId)) {
+            roomsPerCity.put((String) row[0], (Long) row[1]);
+        }
+
+        List<OccupancyStatResponse> rooms = new ArrayList<>();
+        Map<YearMonth, Totals> monthTotals = new TreeMap<>();
+        Map<String, Map<YearMonth, Totals>> cityTotals = new TreeMap<>();
+        for (Object[] row : occupancyRepository.findLandlordMonths(landlordId, from.atDay(1), to.atDay(1))) {
+            String city = (String) row[2];
+            double price = (Double) row[3];
+            YearMonth month = YearMonth.from((LocalDate) row[4]);
+            int bookedDays = (Integer) row[5];
+            rooms.add(stat((Long) row[0], (String) row[1], city, month, bookedDays, month.lengthOfMonth(),
+                    price * bookedDays));
+            monthTotals.computeIfAbsent(month, m -> new Totals()).add(bookedDays, price);
+            cityTotals.computeIfAbsent(city, c -> new TreeMap<>())
+                    .computeIfAbsent(month, m -> new Totals()).add(bookedDays, price);
+        }
+
+        long totalRooms = roomsPerCity.values().stream().mapToLong(Long::longValue).sum();
+        List<OccupancyStatResponse> months = new ArrayList<>();
+        List<OccupancyStatResponse> cities = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            Totals total = monthTotals.getOrDefault(month, new Totals());
+            months.add(stat(null, null, null, month, total.bookedDays, totalRooms * month.lengthOfMonth(), total.revenue));
+        }
+        for (Map.Entry<String, Long> city : roomsPerCity.entrySet()) {
+            Map<YearMonth, Totals> byMonth = cityTotals.getOrDefault(city.getKey(), Map.of());
+            for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+                Totals total = byMonth.getOrDefault(month, new Totals());
+                cities.add(stat(null, null, city.getKey(), month, total.bookedDays,
+                        city.getValue() * month.lengthOfMonth(), total.revenue));
+            }
+        }
+        return new OccupancyReportResponse(from.toString(), to.toString(), months, cities, rooms);
+    }
+
+    private static OccupancyStatResponse stat(Long roomId, String title, String city, YearMonth month,
+                                              long bookedDays, long availableDays, double revenue) {
+        double rate = availableDays == 0 ? 0 : (double) bookedDays / availableDays;
+        return new OccupancyStatResponse(roomId, title, city, month.toString(), bookedDays, availableDays, rate, revenue);
+    }
+
+    private static final class Totals {
+        long bookedDays;
+        double revenue;
+
+        void add(int days, double price) {
+            bookedDays += days;
+            revenue += price * days;
+        }
+    }
+}
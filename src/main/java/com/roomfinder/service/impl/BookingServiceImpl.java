@@ -1,22 +1,53 @@
 package com.roomfinder.service.impl;
 
 import com.roomfinder.dto.request.BookingRequest;
+import com.roomfinder.dto.request.BookingSearchCriteria;
+import com.roomfinder.dto.response.AvailabilityWindowResponse;
+import com.roomfinder.dto.response.BatchBookingResponse;
+import com.roomfinder.dto.response.BookingCalendarResponse;
+import com.roomfinder.dto.response.BookingActionResult;
+import com.roomfinder.dto.response.CursorPage;
 import com.roomfinder.entity.Booking;
+import com.roomfinder.enums.BookingAction;
 import com.roomfinder.enums.BookingStatus;
 import com.roomfinder.exceptions.BookingNotFoundException;
 import com.roomfinder.exceptions.InvalidBookingException;
+import com.roomfinder.exceptions.ValidationException;
 import com.roomfinder.repository.BookingRepository;
+import com.roomfinder.repository.BookingSpecifications;
 import com.roomfinder.service.BookingService;
 import com.roomfinder.service.RoomService;
+import com.roomfinder.service.analytics.OccupancyRollup;
+import com.roomfinder.service.index.BookingIndexes;
+import com.roomfinder.service.index.BookingIntervalIndex;
+import com.roomfinder.service.index.OccupancyCalendar;
+import com.roomfinder.service.index.RoomIntervals;
+import com.roomfinder.service.lock.RoomLocks;
+import com.roomfinder.utils.CursorCodec;
+import com.roomfinder.utils.TransactionHooks;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +55,11 @@ public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
     private final RoomService roomService;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final OccupancyCalendar occupancyCalendar;
+    private final BookingIndexes bookingIndexes;
+    private final RoomLocks roomLocks;
+    private final OccupancyRollup occupancyRollup;
 
     @Override
     @Transactional
@@ -45,6 +81,11 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public Booking approveBooking(Long bookingId, Long landlordId) {
+        // Lock the room before loading the booking, so a concurrent approval of it is already visible
+        Long roomId = bookingRepository.findRoomIdById(bookingId)
+                .orElseThrow(() -> new BookingNotFoundException("Booking not found with id: " + bookingId));
+        roomLocks.lockForTransaction(roomId);
+
         Booking booking = getBookingById(bookingId);
         validateBookingStatus(booking, BookingStatus.PENDING);
 
@@ -52,11 +93,19 @@ public class BookingServiceImpl implements BookingService {
             throw new AccessDeniedException("Only the room owner can approve bookings");
         }
 
-        validateNoOverlappingBookings(booking.getRoomId(), booking.getStartDate(), booking.getEndDate());
+        // The in-memory index only sees this node's approvals, so the database is always asked as well; a hit in
+        // the index just saves the query
+        if ((bookingIntervalIndex.isReady()
+                && bookingIntervalIndex.overlaps(booking.getRoomId(), booking.getStartDate(), booking.getEndDate()))
+                || bookingRepository.existsOverlappingApprovedBooking(booking.getRoomId(), booking.getStartDate(), booking.getEndDate())) {
+            throw new InvalidBookingException("Room is already booked for the selected dates");
+        }
 
         booking.setStatus(BookingStatus.APPROVED);
         roomService.setAvailability(booking.getRoomId(), landlordId, false);
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        occupancyRollup.refresh(List.of(roomId));
+        return reindex(saved);
     }
 
     @Override
@@ -70,7 +119,7 @@ public class BookingServiceImpl implements BookingService {
         }
 
         booking.setStatus(BookingStatus.REJECTED);
-        return bookingRepository.save(booking);
+        return reindex(bookingRepository.save(booking));
     }
 
     @Override
@@ -86,8 +135,111 @@ public class BookingServiceImpl implements BookingService {
             throw new InvalidBookingException("Booking is already cancelled");
         }
 
+        boolean wasApproved = booking.getStatus() == BookingStatus.APPROVED;
         booking.setStatus(BookingStatus.CANCELLED);
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        if (wasApproved) {
+            occupancyRollup.refresh(List.of(booking.getRoomId()));
+        }
+        return reindex(saved);
+    }
+
+    /**
+     * Applies one action to many bookings in a single transaction. Ownership is checked with one query,
+     * approvals are checked against each other and against approved bookings loaded in one query, and the
+     * status updates are flushed as one JDBC batch. A booking that fails a check is reported and skipped
+     * without affecting the rest.
+     */
+    @Override
+    @Transactional
+    public BatchBookingResponse applyBatch(BookingAction action, List<Long> bookingIds, Long userId) {
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(bookingIds));
+        if (action == BookingAction.APPROVE) {
+            // As in approveBooking, lock the rooms before loading the bookings
+            roomLocks.lockAllForTransaction(bookingRepository.findRoomIdsByIdIn(ids));
+        }
+        Map<Long, Booking> bookings = bookingRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Set<Long> roomIds = bookings.values().stream().map(Booking::getRoomId).collect(Collectors.toSet());
+        Set<Long> ownedRoomIds = action == BookingAction.CANCEL ? Set.of() : roomService.findOwnedRoomIds(roomIds, userId);
+        Map<Long, RoomIntervals> approved = action == BookingAction.APPROVE ? approvedIntervals(bookings.values()) : Map.of();
+
+        List<BookingActionResult> results = new ArrayList<>(ids.size());
+        List<Booking> changed = new ArrayList<>();
+        Set<Long> occupancyChanged = new HashSet<>();
+        for (Long id : ids) {
+            Booking booking = bookings.get(id);
+            String failure = booking == null
+                    ? "Booking not found with id: " + id
+                    : batchFailure(action, booking, userId, ownedRoomIds, approved);
+            if (failure != null) {
+                results.add(BookingActionResult.failed(id, failure));
+                continue;
+            }
+            if (action == BookingAction.APPROVE || booking.getStatus() == BookingStatus.APPROVED) {
+                occupancyChanged.add(booking.getRoomId());
+            }
+            booking.setStatus(switch (action) {
+                case APPROVE -> BookingStatus.APPROVED;
+                case REJECT -> BookingStatus.REJECTED;
+                case CANCEL -> BookingStatus.CANCELLED;
+            });
+            changed.add(booking);
+            results.add(BookingActionResult.succeeded(id, booking.getStatus()));
+        }
+
+        if (action == BookingAction.APPROVE && !changed.isEmpty()) {
+            roomService.setAvailability(changed.stream().map(Booking::getRoomId).collect(Collectors.toSet()), userId, false);
+        }
+        List<Booking> saved = bookingRepository.saveAll(changed);
+        occupancyRollup.refresh(occupancyChanged);
+        saved.forEach(this::reindex);
+        return new BatchBookingResponse(changed.size(), results.size() - changed.size(), results);
+    }
+
+    /**
+     * Why the booking cannot take the action, or null if it can. An approval that passes is added to
+     * {@code approved}, so later bookings in the same batch are checked against it.
+     */
+    private String batchFailure(BookingAction action, Booking booking, Long userId, Set<Long> ownedRoomIds,
+                                Map<Long, RoomIntervals> approved) {
+        if (action == BookingAction.CANCEL) {
+            if (!booking.getSeekerId().equals(userId)) {
+                return "Only the booking creator can cancel the booking";
+            }
+            return booking.getStatus() == BookingStatus.CANCELLED ? "Booking is already cancelled" : null;
+        }
+        if (!ownedRoomIds.contains(booking.getRoomId())) {
+            return "Only the room owner can " + (action == BookingAction.APPROVE ? "approve" : "reject") + " bookings";
+        }
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            return "Invalid booking status. Expected: " + BookingStatus.PENDING + ", Current: " + booking.getStatus();
+        }
+        if (action == BookingAction.APPROVE) {
+            RoomIntervals intervals = approved.computeIfAbsent(booking.getRoomId(), id -> new RoomIntervals());
+            long start = booking.getStartDate().toEpochDay();
+            long end = booking.getEndDate().toEpochDay();
+            if (intervals.overlaps(start, end)) {
+                return "Room is already booked for the selected dates";
+            }
+            intervals.add(booking.getId(), start, end);
+        }
+        return null;
+    }
+
+    private Map<Long, RoomIntervals> approvedIntervals(Collection<Booking> bookings) {
+        Map<Long, RoomIntervals> intervals = new HashMap<>();
+        if (bookings.isEmpty()) {
+            return intervals;
+        }
+        LocalDate from = bookings.stream().map(Booking::getStartDate).min(LocalDate::compareTo).get();
+        LocalDate to = bookings.stream().map(Booking::getEndDate).max(LocalDate::compareTo).get();
+        List<Long> roomIds = bookings.stream().map(Booking::getRoomId).distinct().toList();
+        for (Booking booking : bookingRepository.findApprovedBookingsOverlapping(roomIds, from, to)) {
+            intervals.computeIfAbsent(booking.getRoomId(), id -> new RoomIntervals())
+                    .add(booking.getId(), booking.getStartDate().toEpochDay(), booking.getEndDate().toEpochDay());
+        }
+        return intervals;
     }
 
     @Override
@@ -131,6 +283,70 @@ public class BookingServiceImpl implements BookingService {
         }
 
         bookingRepository.delete(booking);
+        TransactionHooks.afterCommit(() -> bookingIndexes.remove(bookingId));
+    }
+
+    @Override
+    public AvailabilityWindowResponse findNextAvailableWindow(Long roomId, LocalDate from, int days) {
+        if (days < 1) {
+            throw new ValidationException("Number of days must be at least 1");
+        }
+        LocalDate start;
+        if (bookingIntervalIndex.isReady()) {
+            start = bookingIntervalIndex.nextFreeStart(roomId, from, days);
+        } else {
+            RoomIntervals intervals = new RoomIntervals();
+            for (Booking booking : bookingRepository.findApprovedBookingsEndingOnOrAfter(roomId, from)) {
+                intervals.add(booking.getId(), booking.getStartDate().toEpochDay(), booking.getEndDate().toEpochDay());
+            }
+            start = LocalDate.ofEpochDay(intervals.nextFreeStart(from.toEpochDay(), days));
+        }
+        return new AvailabilityWindowResponse(start, start.plusDays(days - 1));
+    }
+
+    /**
+     * Reads the room's booked days from the occupancy calendar, or from the room's approved bookings in the
+     * range until the calendar has loaded, and encodes them as runs or as a bitmap.
+     */
+    @Override
+    public BookingCalendarResponse getRoomCalendar(Long roomId, LocalDate from, LocalDate to, String encoding) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("'from' must not be after 'to'");
+        }
+        if (to.toEpochDay() - from.toEpochDay() >= OccupancyCalendar.MAX_RANGE_DAYS) {
+            throw new ValidationException("Calendar range cannot exceed " + OccupancyCalendar.MAX_RANGE_DAYS + " days");
+        }
+        boolean bitmap = switch (encoding.toLowerCase()) {
+            case "runs" -> false;
+            case "bitmap" -> true;
+            default -> throw new ValidationException("Unknown calendar encoding: " + encoding);
+        };
+
+        BitSet booked;
+        if (occupancyCalendar.isReady()) {
+            booked = occupancyCalendar.bookedDays(roomId, from, to);
+        } else {
+            booked = new BitSet();
+            for (Booking booking : bookingRepository.findApprovedBookingsOverlapping(List.of(roomId), from, to)) {
+                LocalDate start = booking.getStartDate().isBefore(from) ? from : booking.getStartDate();
+                LocalDate end = booking.getEndDate().isAfter(to) ? to : booking.getEndDate();
+                booked.set((int) (start.toEpochDay() - from.toEpochDay()), (int) (end.toEpochDay() - from.toEpochDay()) + 1);
+            }
+        }
+        return bitmap
+                ? new BookingCalendarResponse(roomId, from, to, "bitmap", null, Base64.getEncoder().encodeToString(booked.toByteArray()))
+                : new BookingCalendarResponse(roomId, from, to, "runs", runs(booked), null);
+    }
+
+    private static int[] runs(BitSet booked) {
+        List<Integer> runs = new ArrayList<>();
+        for (int start = booked.nextSetBit(0); start >= 0; start = booked.nextSetBit(start + 1)) {
+            int end = booked.nextClearBit(start);
+            runs.add(start);
+            runs.add(end - start);
+            start = end;
+        }
+        return runs.stream().mapToInt(Integer::intValue).toArray();
     }
 
     @Override
@@ -156,11 +372,27 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public Page<Booking> getBookingsByLandlord(Long landlordId, Pageable pageable) {
-        List<Long> roomIds = roomService.getRoomIdsByLandlordId(landlordId);
-        if (roomIds.isEmpty()) {
-            return Page.empty();
-        }
-        return bookingRepository.findByRoomIdInOrderByIdDesc(roomIds, pageable);
+        return bookingRepository.findByLandlordId(landlordId, pageable);
+    }
+
+    @Override
+    public CursorPage<Booking> scrollBookingsBySeeker(Long seekerId, String cursor, int size) {
+        CursorCodec.validatePageSize(size);
+        List<Booking> bookings = bookingRepository.findBySeekerIdAndIdLessThanOrderByIdDesc(
+                seekerId, beforeId(cursor), Limit.of(size + 1));
+        return CursorPage.of(bookings, size, booking -> CursorCodec.encode(booking.getId()));
+    }
+
+    @Override
+    public CursorPage<Booking> scrollBookingsByLandlord(Long landlordId, String cursor, int size) {
+        CursorCodec.validatePageSize(size);
+        List<Booking> bookings = bookingRepository.findByLandlordIdAndIdLessThan(
+                landlordId, beforeId(cursor), Limit.of(size + 1));
+        return CursorPage.of(bookings, size, booking -> CursorCodec.encode(booking.getId()));
+    }
+
+    private static Long beforeId(String cursor) {
+        return cursor == null || cursor.isBlank() ? Long.MAX_VALUE : CursorCodec.decodeId(cursor);
     }
 
     @Override
@@ -180,11 +412,7 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public Page<Booking> getBookingsByLandlordAndStatus(Long landlordId, BookingStatus status, Pageable pageable) {
-        List<Long> roomIds = roomService.getRoomIdsByLandlordId(landlordId);
-        if (roomIds.isEmpty()) {
-            return Page.empty();
-        }
-        return bookingRepository.findByRoomIdInAndStatusOrderByIdDesc(roomIds, status, pageable);
+        return bookingRepository.findByLandlordIdAndStatus(landlordId, status, pageable);
     }
 
     @Override
@@ -207,15 +435,16 @@ public class BookingServiceImpl implements BookingService {
             LocalDate endDateFrom,
             LocalDate endDateTo,
             Pageable pageable) {
-        return bookingRepository.searchBookings(
-                seekerId,
-                roomId,
-                status,
-                startDateFrom,
-                startDateTo,
-                endDateFrom,
-                endDateTo,
-                pageable);
+        BookingSearchCriteria criteria = BookingSearchCriteria.builder()
+                .seekerId(seekerId)
+                .roomId(roomId)
+                .status(status)
+                .startDateFrom(startDateFrom)
+                .startDateTo(startDateTo)
+                .endDateFrom(endDateFrom)
+                .endDateTo(endDateTo)
+                .build();
+        return bookingRepository.findAll(BookingSpecifications.matching(criteria), newestFirst(pageable));
     }
 
     @Override
@@ -228,19 +457,23 @@ public class BookingServiceImpl implements BookingService {
             LocalDate endDateFrom,
             LocalDate endDateTo,
             Pageable pageable) {
-        List<Long> roomIds = roomService.getRoomIdsByLandlordId(landlordId);
-        if (roomIds.isEmpty()) {
-            return Page.empty();
-        }
-        return bookingRepository.searchBookingsForLandlord(
-                roomIds,
-                seekerId,
-                status,
-                startDateFrom,
-                startDateTo,
-                endDateFrom,
-                endDateTo,
-                pageable);
+        BookingSearchCriteria criteria = BookingSearchCriteria.builder()
+                .landlordId(landlordId)
+                .seekerId(seekerId)
+                .status(status)
+                .startDateFrom(startDateFrom)
+                .startDateTo(startDateTo)
+                .endDateFrom(endDateFrom)
+                .endDateTo(endDateTo)
+                .build();
+        return bookingRepository.findAll(BookingSpecifications.matching(criteria), newestFirst(pageable));
+    }
+
+    // Searches list the newest bookings first unless the caller asked for another order
+    private static Pageable newestFirst(Pageable pageable) {
+        return pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(Sort.Direction.DESC, "id"));
     }
 
     private void validateBookingDates(LocalDate startDate, LocalDate endDate) {
@@ -254,14 +487,21 @@ public class BookingServiceImpl implements BookingService {
     }
 
     private void validateNoOverlappingBookings(Long roomId, LocalDate startDate, LocalDate endDate) {
-        List<Booking> overlappingBookings = bookingRepository
-                .findOverlappingBookings(roomId, startDate, endDate);
+        // The interval index answers from memory; until it has loaded, ask the database
+        boolean overlapping = bookingIntervalIndex.isReady()
+                ? bookingIntervalIndex.overlaps(roomId, startDate, endDate)
+                : bookingRepository.existsOverlappingApprovedBooking(roomId, startDate, endDate);
 
-        if (!overlappingBookings.isEmpty()) {
+        if (overlapping) {
             throw new InvalidBookingException("Room is already booked for the selected dates");
         }
     }
 
+    private Booking reindex(Booking booking) {
+        TransactionHooks.afterCommit(() -> bookingIndexes.index(booking));
+        return booking;
+    }
+
     private void validateBookingStatus(Booking booking, BookingStatus expectedStatus) {
         if (booking.getStatus() != expectedStatus) {
             throw new InvalidBookingException(
@@ -14,6 +14,11 @@ import com.roomfinder.repository.MessageRepository;
 import com.roomfinder.repository.RoomRepository;
 import com.roomfinder.repository.UserRepository;
 import com.roomfinder.service.CSVService;
+import com.roomfinder.service.analytics.OccupancyRollup;
+import com.roomfinder.service.index.BookingIndexes;
+import com.roomfinder.service.index.RoomIndexes;
+import com.roomfinder.service.messaging.ConversationSummaryRollup;
+import com.roomfinder.utils.TransactionHooks;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -36,6 +41,10 @@ public class CSVServiceImpl implements CSVService {
     private final MessageRepository messageRepository;
     private final BookingRepository bookingRepository;
     private final PasswordEncoder passwordEncoder;
+    private final RoomIndexes roomIndexes;
+    private final BookingIndexes bookingIndexes;
+    private final OccupancyRollup occupancyRollup;
+    private final ConversationSummaryRollup conversationSummaries;
 
 
 
@@ -43,12 +52,20 @@ public class CSVServiceImpl implements CSVService {
     public CSVServiceImpl(UserRepository userRepository,
                           RoomRepository roomRepository,
                           MessageRepository messageRepository,
-                          BookingRepository bookingRepository, BCryptPasswordEncoder passwordEncoder) {
+                          BookingRepository bookingRepository, BCryptPasswordEncoder passwordEncoder,
+                          RoomIndexes roomIndexes,
+                          BookingIndexes bookingIndexes,
+                          OccupancyRollup occupancyRollup,
+                          ConversationSummaryRollup conversationSummaries) {
         this.userRepository = userRepository;
         this.roomRepository = roomRepository;
         this.messageRepository = messageRepository;
         this.bookingRepository = bookingRepository;
         this.passwordEncoder = passwordEncoder;
+        this.roomIndexes = roomIndexes;
+        this.bookingIndexes = bookingIndexes;
+        this.occupancyRollup = occupancyRollup;
+        this.conversationSummaries = conversationSummaries;
     }
 
     // ----- USER CSV OPERATIONS -----
@@ -136,7 +153,7 @@ public class CSVServiceImpl implements CSVService {
         try (ByteArrayOutputStream out = new ByteArrayOutputStream();
              CSVWriter writer = new CSVWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
 
-            String[] header = {"id", "landlordId", "title", "description", "price", "address", "city", "size", "images", "isAvailable", "postedDate", "amenities"};
+            String[] header = {"id", "landlordId", "title", "description", "price", "address", "city", "size", "images", "isAvailable", "postedDate", "amenities", "latitude", "longitude"};
             writer.writeNext(header);
 
             for (Room room : rooms) {
@@ -159,7 +176,9 @@ public class CSVServiceImpl implements CSVService {
                         imagesStr,
                         String.valueOf(room.isAvailable()),
                         room.getPostedDate() != null ? room.getPostedDate().toString() : "",
-                        amenitiesStr
+                        amenitiesStr,
+                        room.getLatitude() != null ? String.valueOf(room.getLatitude()) : "",
+                        room.getLongitude() != null ? String.valueOf(room.getLongitude()) : ""
                 };
                 writer.writeNext(data);
             }
@@ -169,6 +188,7 @@ public class CSVServiceImpl implements CSVService {
     }
 
     @Override
+    @Transactional
     public void importRoomsFromCSV(MultipartFile file) throws IOException {
         List<Room> rooms = new ArrayList<>();
 
@@ -215,12 +235,18 @@ public class CSVServiceImpl implements CSVService {
                     }
                     room.setAmenities(amenities);
                 }
+                // Coordinates are optional trailing columns, absent from older exports
+                if (nextRecord.length > 13 && !nextRecord[12].isEmpty() && !nextRecord[13].isEmpty()) {
+                    room.setLatitude(Double.parseDouble(nextRecord[12]));
+                    room.setLongitude(Double.parseDouble(nextRecord[13]));
+                }
                 rooms.add(room);
             }
         } catch (CsvValidationException e) {
             throw new RuntimeException(e);
         }
-        roomRepository.saveAll(rooms);
+        List<Room> saved = roomRepository.saveAll(rooms);
+        TransactionHooks.afterCommit(() -> saved.forEach(roomIndexes::index));
     }
 
     // ----- MESSAGE CSV OPERATIONS -----
@@ -289,7 +315,13 @@ public class CSVServiceImpl implements CSVService {
         } catch (CsvValidationException e) {
             throw new RuntimeException("CSV validation error: " + e.getMessage(), e);
         }
-        messageRepository.saveAll(messages);
+        List<Message> saved = messageRepository.saveAll(messages);
+        // Grouped by pair, so concurrent imports take the summary rows of their pairs in the same order
+        saved.stream()
+                .sorted(Comparator.comparing((Message m) -> Math.min(m.getSenderId(), m.getReceiverId()))
+                        .thenComparing(m -> Math.max(m.getSenderId(), m.getReceiverId()))
+                        .thenComparing(Message::getId))
+                .forEach(conversationSummaries::messageSent);
     }
     // ----- BOOKING CSV OPERATIONS -----
     @Override
@@ -359,6 +391,12 @@ public class CSVServiceImpl implements CSVService {
         } catch (CsvValidationException e) {
             throw new RuntimeException("CSV validation error: " + e.getMessage(), e);
         }
-        bookingRepository.saveAll(bookings);
+        List<Booking> saved = bookingRepository.saveAll(bookings);
+        // Approved imports count towards occupancy, and every import towards overlap checks and availability
+        occupancyRollup.refresh(saved.stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .map(Booking::getRoomId)
+                .toList());
+        TransactionHooks.afterCommit(() -> saved.forEach(bookingIndexes::index));
     }
 }
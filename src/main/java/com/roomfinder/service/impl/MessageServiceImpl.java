@@ -2,33 +2,51 @@ package com.roomfinder.service.impl;
 
 import com.roomfinder.dto.request.MessageRequest;
 import com.roomfinder.dto.request.ValidateUsersRequest;
+import com.roomfinder.dto.response.CursorPage;
 import com.roomfinder.dto.response.DirectConversationResponse;
 import com.roomfinder.dto.response.MessageResponse;
+import com.roomfinder.dto.response.ReadReceiptResponse;
+import com.roomfinder.dto.response.UnreadCountResponse;
 import com.roomfinder.entity.Message;
 import com.roomfinder.exceptions.ResourceNotFoundException;
 import com.roomfinder.exceptions.UnauthorizedAccessException;
+import com.roomfinder.exceptions.ValidationException;
+import com.roomfinder.repository.ConversationSummaryRepository;
 import com.roomfinder.repository.MessageRepository;
-import com.roomfinder.service.DirectConversationProjection;
 import com.roomfinder.service.MessageService;
 import com.roomfinder.service.UserService;
+import com.roomfinder.service.messaging.ConversationSummaryRollup;
+import com.roomfinder.service.messaging.NotificationDispatcher;
+import com.roomfinder.service.messaging.UnreadCounters;
+import com.roomfinder.utils.CursorCodec;
+import com.roomfinder.utils.TransactionHooks;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class MessageServiceImpl implements MessageService {
+    // Positions a first page after every stored message
+    private static final CursorCodec.TimeCursor LATEST =
+            new CursorCodec.TimeCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
     private final MessageRepository messageRepository;
+    private final ConversationSummaryRepository conversationSummaryRepository;
     private final UserService userService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationDispatcher notificationDispatcher;
+    private final ConversationSummaryRollup conversationSummaries;
+    private final UnreadCounters unreadCounters;
 
     @Override
     public Message sendMessage(Long senderId, MessageRequest request) {
@@ -42,7 +60,9 @@ public class MessageServiceImpl implements MessageService {
                 .isRead(false)
                 .build();
 
-        return messageRepository.save(message);
+        Message saved = messageRepository.save(message);
+        conversationSummaries.messageSent(saved);
+        return saved;
     }
 
     @Override
@@ -62,46 +82,83 @@ public class MessageServiceImpl implements MessageService {
             throw new UnauthorizedAccessException("Not authorized to mark this message as read");
         }
 
-        message.setRead(true);
-        messageRepository.save(message);
+        // Conditional, so two concurrent reads of one message lower the unread count once
+        if (messageRepository.markRead(messageId) > 0) {
+            conversationSummaries.messagesRead(userId, message.getSenderId(), 1);
+        }
 
         // Notify sender that message was read
         if (message.getRoomId() == null) { // Only for direct messages
             MessageResponse response = convertToResponse(message);
-            messagingTemplate.convertAndSendToUser(
+            response.setRead(true);
+            TransactionHooks.afterCommit(() -> notificationDispatcher.convertAndSendToUser(
                     message.getSenderId().toString(),
                     "/queue/messages/read",
                     response
-            );
+            ));
         }
     }
 
+    /**
+     * Marks the user's unread messages in the room as read with one UPDATE, however many there are, and
+     * tells the room with a single receipt. Returns the number of messages marked.
+     */
     @Override
-    public void markMessagesAsRead(Long roomId, Long currentUserId) {
-        List<Message> unreadMessages = messageRepository.findByRoomIdAndReceiverIdAndIsReadFalse(roomId, currentUserId);
-        unreadMessages.forEach(message -> message.setRead(true));
-        messageRepository.saveAll(unreadMessages);
+    public int markMessagesAsRead(Long roomId, Long currentUserId) {
+        LocalDateTime readUpTo = LocalDateTime.now();
+        Map<Long, Integer> markedBySender = new HashMap<>();
+        for (Object[] row : messageRepository.markRoomMessagesRead(roomId, currentUserId, readUpTo)) {
+            markedBySender.put(((Number) row[0]).longValue(), ((Number) row[1]).intValue());
+        }
+        conversationSummaries.messagesRead(currentUserId, markedBySender);
+        int marked = markedBySender.values().stream().mapToInt(Integer::intValue).sum();
+        if (marked > 0) {
+            ReadReceiptResponse receipt = new ReadReceiptResponse(currentUserId, roomId, null, marked, readUpTo);
+            TransactionHooks.afterCommit(() ->
+                    notificationDispatcher.convertAndSend("/topic/room/" + roomId + "/read-receipts", receipt));
+        }
+        return marked;
+    }
+
+    /**
+     * Direct-conversation counterpart of {@link #markMessagesAsRead}: one UPDATE, and one receipt to the
+     * other user instead of one per message.
+     */
+    @Override
+    public int markConversationAsRead(Long otherUserId, Long currentUserId) {
+        LocalDateTime readUpTo = LocalDateTime.now();
+        int marked = messageRepository.markDirectMessagesRead(otherUserId, currentUserId, readUpTo);
+        conversationSummaries.messagesRead(currentUserId, otherUserId, marked);
+        if (marked > 0) {
+            ReadReceiptResponse receipt = new ReadReceiptResponse(currentUserId, null, otherUserId, marked, readUpTo);
+            TransactionHooks.afterCommit(() -> notificationDispatcher.convertAndSendToUser(
+                    otherUserId.toString(), "/queue/messages/read-receipts", receipt));
+        }
+        return marked;
     }
 
 
 
+    /**
+     * Reads the user's side of each conversation from {@code conversation_summary}, most recent first.
+     */
     @Override
     public List<DirectConversationResponse> getDirectConversations(Long userId) {
-        List<DirectConversationProjection> projections = messageRepository.findDirectConversationsWithDetails(userId);
-        return projections.stream()
-                .map(proj -> new DirectConversationResponse(
-                        proj.getOwnUserId(),
-                        proj.getOtherUserId(),
+        return conversationSummaryRepository.findByOwnerIdOrderByLastSentAtDesc(userId).stream()
+                .map(summary -> new DirectConversationResponse(
+                        summary.getOwnerId(),
+                        summary.getOtherUserId(),
                         new DirectConversationResponse.LastMessage(
-                                proj.getLastContent(),
-                                proj.getLastSentAt()),
-                        proj.getUnreadCount() != null ? proj.getUnreadCount() : 0))
+                                summary.getLastContent(),
+                                summary.getLastSentAt()),
+                        summary.getUnreadCount()))
                 .collect(Collectors.toList());
     }
 
     @Override
     public void deleteMessage(Long messageId, Long userId) {
-        Message message = messageRepository.findById(messageId)
+        // Locked so a concurrent markAsRead cannot change whether it still counts as unread
+        Message message = messageRepository.findByIdForUpdate(messageId)
                 .orElseThrow(() -> new ResourceNotFoundException("Message not found"));
 
         if (!message.getSenderId().equals(userId)) {
@@ -109,6 +166,7 @@ public class MessageServiceImpl implements MessageService {
         }
 
         messageRepository.delete(message);
+        conversationSummaries.messageDeleted(message);
 
         // Notify recipient about message deletion
         MessageResponse response = convertToResponse(message);
@@ -125,15 +183,23 @@ public class MessageServiceImpl implements MessageService {
     }
 
     @Override
-    public List<Message> getRoomMessages(Long roomId, Long userId) {
+    public CursorPage<Message> getRoomMessages(Long roomId, Long userId, String before, String after, int size) {
         validateRoomAccess(roomId, userId);
-        return messageRepository.findByRoomIdOrderBySentAtDesc(roomId);
+        CursorCodec.TimeCursor cursor = resolveCursor(before, after, size);
+        List<Message> fetched = after != null
+                ? messageRepository.findRoomMessagesAfter(roomId, cursor.timestamp(), cursor.id(), Limit.of(size + 1))
+                : messageRepository.findRoomMessagesBefore(roomId, cursor.timestamp(), cursor.id(), Limit.of(size + 1));
+        return CursorPage.of(fetched, size, MessageServiceImpl::cursorOf);
     }
 
     @Override
-    public List<Message> getConversation(Long otherUserId, Long currentUserId) {
+    public CursorPage<Message> getConversation(Long otherUserId, Long currentUserId, String before, String after, int size) {
         validateUsers(currentUserId, otherUserId);
-        return messageRepository.findConversationBetweenUsers(currentUserId, otherUserId);
+        CursorCodec.TimeCursor cursor = resolveCursor(before, after, size);
+        List<Message> fetched = after != null
+                ? messageRepository.findConversationAfter(currentUserId, otherUserId, cursor.timestamp(), cursor.id(), size + 1)
+                : messageRepository.findConversationBefore(currentUserId, otherUserId, cursor.timestamp(), cursor.id(), size + 1);
+        return CursorPage.of(fetched, size, MessageServiceImpl::cursorOf);
     }
 
     @Override
@@ -141,6 +207,14 @@ public class MessageServiceImpl implements MessageService {
         return messageRepository.findByReceiverIdAndIsReadFalse(userId);
     }
 
+    /**
+     * The user's unread badge, from memory once loaded; changes are also pushed to {@code /user/queue/unread}.
+     */
+    @Override
+    public UnreadCountResponse getUnreadCount(Long userId) {
+        return unreadCounters.get(userId);
+    }
+
     @Override
     public List<Long> getUserRooms(Long userId) {
         return messageRepository.findAllRoomsByUserId(userId);
@@ -169,28 +243,49 @@ public class MessageServiceImpl implements MessageService {
                 .build();
     }
 
+    // Published after commit, so subscribers never see a message that was rolled back
     private void notifyRecipients(MessageResponse response) {
-        if (response.getRoomId() == null) {
-            // Direct message - notify recipient
-            messagingTemplate.convertAndSendToUser(
-                    response.getReceiverId().toString(),
+        TransactionHooks.afterCommit(() -> {
+            if (response.getRoomId() == null) {
+                // Direct message - notify recipient
+                notificationDispatcher.convertAndSendToUser(
+                        response.getReceiverId().toString(),
+                        "/queue/messages",
+                        response
+                );
+            } else {
+                // Room message - notify all room subscribers
+                notificationDispatcher.convertAndSend(
+                        "/topic/room/" + response.getRoomId(),
+                        response
+                );
+            }
+
+            // Also send back to sender for UI sync
+            notificationDispatcher.convertAndSendToUser(
+                    response.getSenderId().toString(),
                     "/queue/messages",
                     response
             );
-        } else {
-            // Room message - notify all room subscribers
-            messagingTemplate.convertAndSend(
-                    "/topic/room/" + response.getRoomId(),
-                    response
-            );
+        });
+    }
+
+    /**
+     * The (sentAt, id) position a history page is keyed against. Pages run newest first before {@code before}
+     * and oldest first after {@code after}; with neither, the page starts at the latest message. The cursor
+     * carries the position itself, so paging goes on even when the message it came from has been deleted.
+     */
+    private static CursorCodec.TimeCursor resolveCursor(String before, String after, int size) {
+        CursorCodec.validatePageSize(size);
+        if (before != null && after != null) {
+            throw new ValidationException("Use either before or after, not both");
         }
+        String cursor = before != null ? before : after;
+        return cursor == null ? LATEST : CursorCodec.decodeTimeCursor(cursor);
+    }
 
-        // Also send back to sender for UI sync
-        messagingTemplate.convertAndSendToUser(
-                response.getSenderId().toString(),
-                "/queue/messages",
-                response
-        );
+    private static String cursorOf(Message message) {
+        return CursorCodec.encode(message.getSentAt(), message.getId());
     }
 
     private void validateUsers(Long senderId, Long receiverId) {
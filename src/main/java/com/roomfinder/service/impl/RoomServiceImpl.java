@@ -1,18 +1,41 @@
 package com.roomfinder.service.impl;
 
 import com.roomfinder.dto.request.RoomRequest;
+import com.roomfinder.dto.request.RoomSearchCriteria;
+import com.roomfinder.dto.response.CursorPage;
+import com.roomfinder.dto.response.FacetSearchResponse;
+import com.roomfinder.dto.response.RoomSummaryResponse;
 import com.roomfinder.entity.Room;
 import com.roomfinder.exceptions.ResourceNotFoundException;
 import com.roomfinder.exceptions.RoomNotFoundException;
 import com.roomfinder.exceptions.UnauthorizedAccessException;
+import com.roomfinder.exceptions.ValidationException;
 import com.roomfinder.repository.RoomRepository;
+import com.roomfinder.repository.RoomSpecifications;
 import com.roomfinder.service.ImageStorageService;
 import com.roomfinder.service.RoomService;
+import com.roomfinder.service.cache.RoomCache;
+import com.roomfinder.service.cache.SearchResultCache;
+import com.roomfinder.service.index.AddressIndex;
+import com.roomfinder.service.index.AmenityFacetIndex;
+import com.roomfinder.service.index.GeoIndex;
+import com.roomfinder.service.index.IdPage;
+import com.roomfinder.service.index.OccupancyCalendar;
+import com.roomfinder.service.index.RoomIndexes;
+import com.roomfinder.service.index.RoomSlots;
+import com.roomfinder.service.index.TrigramIndex;
+import com.roomfinder.service.stats.RoomStatsAggregator;
+import com.roomfinder.utils.CursorCodec;
+import com.roomfinder.utils.TransactionHooks;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,9 +52,12 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,6 +66,16 @@ public class RoomServiceImpl implements RoomService {
 
     private final RoomRepository roomRepository;
     private final ImageStorageService imageStorageService;
+    private final AddressIndex addressIndex;
+    private final TrigramIndex trigramIndex;
+    private final AmenityFacetIndex amenityFacetIndex;
+    private final GeoIndex geoIndex;
+    private final OccupancyCalendar occupancyCalendar;
+    private final RoomSlots roomSlots;
+    private final RoomCache roomCache;
+    private final SearchResultCache searchResultCache;
+    private final RoomStatsAggregator roomStatsAggregator;
+    private final RoomIndexes roomIndexes;
 
     @Value("${app.upload.dir:${user.home}/roomfinder/uploads}")
     private String uploadDir;
@@ -61,13 +97,15 @@ public class RoomServiceImpl implements RoomService {
             room.setImages(imagePaths);
         }
 
-        return roomRepository.save(room);
+        Room saved = roomRepository.save(room);
+        reindex(saved);
+        return saved;
     }
 
     @Override
     @Transactional
     public Room updateRoom(Long roomId, RoomRequest request, List<String> existingImages, Long landlordId) throws IOException {
-        Room room = getRoomById(roomId);
+        Room room = findRoomForUpdate(roomId);
 
         if (!room.getLandlordId().equals(landlordId)) {
             throw new UnauthorizedAccessException("You are not authorized to update this room.");
@@ -83,13 +121,15 @@ public class RoomServiceImpl implements RoomService {
         }
 
         room.setImages(imagePaths);
-        return roomRepository.save(room);
+        Room saved = roomRepository.save(room);
+        reindex(saved);
+        return saved;
     }
 
 
     @Override
     public void deleteRoom(Long roomId, Long landlordId) {
-        Room room = getRoomById(roomId);
+        Room room = findRoomForUpdate(roomId);
 
         if (!room.getLandlordId().equals(landlordId)) {
             throw new UnauthorizedAccessException("You are not authorized to delete this room.");
@@ -104,36 +144,158 @@ public class RoomServiceImpl implements RoomService {
             }
         }
         roomRepository.deleteById(roomId);
+        unindex(roomId);
     }
 
 
     @Override
     public Room getRoomById(Long roomId) {
+        return roomCache.get(roomId, id -> roomRepository.findWithCollectionsById(id)
+                .orElseThrow(() -> new RoomNotFoundException("Room not found with id: " + id)));
+    }
+
+    // Write paths load the room straight from the database, never the shared cached copy
+    private Room findRoomForUpdate(Long roomId) {
         return roomRepository.findById(roomId)
                 .orElseThrow(() -> new RoomNotFoundException("Room not found with id: " + roomId));
     }
 
     @Override
-    public Page<Room> getRoomsByLandlord(Long landlordId, Pageable pageable) {
-        return roomRepository.findByLandlordId(landlordId, pageable);
+    public Page<RoomSummaryResponse> getRoomsByLandlord(Long landlordId, Pageable pageable) {
+        return summarize(roomRepository.findByLandlordId(landlordId, pageable));
     }
 
     @Override
-    public Page<Room> getAllRooms(Pageable pageable) {
-        return roomRepository.findAll(pageable);
+    public Page<RoomSummaryResponse> getAllRooms(Pageable pageable) {
+        return summarize(roomRepository.findAll(pageable));
     }
 
     @Override
-    public Page<Room> searchRooms(String city, Double maxPrice, String address, Pageable pageable) {
-        if (address != null && !address.isEmpty()) {
-            return roomRepository.findRoomsBySimilarAddress(address, pageable);
+    public CursorPage<RoomSummaryResponse> scrollRooms(String cursor, int size) {
+        CursorCodec.validatePageSize(size);
+        Limit limit = Limit.of(size + 1);
+        List<Room> rooms;
+        if (cursor == null || cursor.isBlank()) {
+            rooms = roomRepository.findNewestFirst(limit);
+        } else {
+            CursorCodec.TimeCursor position = CursorCodec.decodeTimeCursor(cursor);
+            rooms = roomRepository.findNewestFirstAfter(position.timestamp(), position.id(), limit);
+        }
+        return CursorPage.of(summarize(rooms), size, room -> CursorCodec.encode(room.getPostedDate(), room.getId()));
+    }
+
+    @Override
+    public Page<RoomSummaryResponse> searchRooms(RoomSearchCriteria criteria, Pageable pageable) {
+        validateRange(criteria.getMinPrice(), criteria.getMaxPrice(), "price");
+        validateRange(criteria.getMinSize(), criteria.getMaxSize(), "size");
+
+        // Repeated searches are answered from cached id pages; a miss keeps the rooms it loaded
+        List<Room> loaded = new ArrayList<>();
+        IdPage hits = searchResultCache.get(criteria, pageable, () -> {
+            // A pure address lookup is served by the ranked address index
+            Page<Room> rooms = isAddressOnly(criteria)
+                    ? searchByAddress(criteria.getAddress(), pageable)
+                    : roomRepository.findAll(RoomSpecifications.matching(criteria), pageable);
+            loaded.addAll(rooms.getContent());
+            return new IdPage(rooms.stream().mapToLong(Room::getId).toArray(), rooms.getTotalElements());
+        });
+        List<Room> rooms = loaded.isEmpty() ? findAllInOrder(hits.ids()) : loaded;
+        return new PageImpl<>(summarize(rooms), pageable, hits.total());
+    }
+
+    @Override
+    public Page<RoomSummaryResponse> fuzzySearchRooms(String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            return Page.empty(pageable);
+        }
+        if (!trigramIndex.isReady()) {
+            return summarize(roomRepository.findRoomsBySimilarAddress(query, pageable));
+        }
+        IdPage hits = trigramIndex.search(query, (int) pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(summarize(findAllInOrder(hits.ids())), pageable, hits.total());
+    }
+
+    @Override
+    public FacetSearchResponse facetSearch(RoomSearchCriteria criteria, Pageable pageable) {
+        validateRange(criteria.getMinPrice(), criteria.getMaxPrice(), "price");
+        validateRange(criteria.getMinSize(), criteria.getMaxSize(), "size");
+
+        if (!amenityFacetIndex.isReady()) {
+            return new FacetSearchResponse(
+                    summarize(roomRepository.findAll(RoomSpecifications.matching(criteria), pageable)), Map.of(), Map.of());
+        }
+        AmenityFacetIndex.FacetResult result = amenityFacetIndex.search(
+                criteria, (int) pageable.getOffset(), pageable.getPageSize());
+        Page<RoomSummaryResponse> rooms = new PageImpl<>(
+                summarize(findAllInOrder(result.page().ids())), pageable, result.page().total());
+        return new FacetSearchResponse(rooms, result.amenityCounts(), result.cityCounts());
+    }
+
+    @Override
+    public Page<RoomSummaryResponse> searchAvailableRooms(RoomSearchCriteria criteria, LocalDate from, LocalDate to, Pageable pageable) {
+        validateRange(criteria.getMinPrice(), criteria.getMaxPrice(), "price");
+        validateRange(criteria.getMinSize(), criteria.getMaxSize(), "size");
+        if (from == null || to == null) {
+            throw new ValidationException("Both from and to dates are required");
         }
-        if (maxPrice != null) {
-            return roomRepository.findAvailableRoomsByMaxPrice(maxPrice, pageable);
+        if (to.isBefore(from)) {
+            throw new ValidationException("End date must not be before start date");
         }
-        return roomRepository.findByCityAndAvailableTrue(city, pageable);
+        if (ChronoUnit.DAYS.between(from, to) >= OccupancyCalendar.MAX_RANGE_DAYS) {
+            throw new ValidationException("Date range must not exceed " + OccupancyCalendar.MAX_RANGE_DAYS + " days");
+        }
+
+        // The facet bitmap has no address filter, so address searches go to the database
+        boolean hasAddress = criteria.getAddress() != null && !criteria.getAddress().isBlank();
+        if (hasAddress || !amenityFacetIndex.isReady() || !occupancyCalendar.isReady()) {
+            return summarize(roomRepository.findAll(
+                    RoomSpecifications.matching(criteria).and(RoomSpecifications.freeBetween(from, to)), pageable));
+        }
+        BitSet candidates = amenityFacetIndex.matching(criteria);
+        occupancyCalendar.removeOccupied(candidates, from, to);
+        IdPage hits = roomSlots.newestFirst(candidates, (int) pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(summarize(findAllInOrder(hits.ids())), pageable, hits.total());
+    }
+
+    @Override
+    public Page<RoomSummaryResponse> findNearbyRooms(double latitude, double longitude, double radiusKm, Pageable pageable) {
+        validateCoordinates(latitude, longitude);
+        if (radiusKm <= 0 || radiusKm > GeoIndex.MAX_RADIUS_KM) {
+            throw new ValidationException("Radius must be greater than 0 and at most " + GeoIndex.MAX_RADIUS_KM + " km");
+        }
+
+        Page<Room> rooms;
+        if (geoIndex.isReady()) {
+            IdPage hits = geoIndex.nearby(latitude, longitude, radiusKm, (int) pageable.getOffset(), pageable.getPageSize());
+            rooms = new PageImpl<>(findAllInOrder(hits.ids()), pageable, hits.total());
+        } else {
+            rooms = findNearbyFromDatabase(latitude, longitude, radiusKm, pageable);
+        }
+
+        Page<RoomSummaryResponse> summaries = summarize(rooms);
+        summaries.forEach(room -> room.setDistanceKm(
+                GeoIndex.distanceKm(latitude, longitude, room.getLatitude(), room.getLongitude())));
+        return summaries;
     }
 
+    @Override
+    public Page<RoomSummaryResponse> findRoomsWithinBounds(double minLat, double maxLat, double minLng, double maxLng, Pageable pageable) {
+        validateCoordinates(minLat, minLng);
+        validateCoordinates(maxLat, maxLng);
+        validateRange(minLat, maxLat, "latitude");
+        double lngWidth = minLng > maxLng ? maxLng + 360 - minLng : maxLng - minLng;
+        if (maxLat - minLat > GeoIndex.MAX_BOUNDS_DEGREES || lngWidth > GeoIndex.MAX_BOUNDS_DEGREES) {
+            throw new ValidationException("Bounds must not span more than " + GeoIndex.MAX_BOUNDS_DEGREES
+                    + " degrees of latitude or longitude");
+        }
+
+        if (!geoIndex.isReady()) {
+            return summarize(roomRepository.findAvailableWithinBounds(minLat, maxLat, minLng, maxLng,
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(Sort.Direction.DESC, "id"))));
+        }
+        IdPage hits = geoIndex.withinBounds(minLat, maxLat, minLng, maxLng, (int) pageable.getOffset(), pageable.getPageSize());
+        return summarize(new PageImpl<>(findAllInOrder(hits.ids()), pageable, hits.total()));
+    }
 
     @Override
     @Transactional
@@ -147,7 +309,7 @@ public class RoomServiceImpl implements RoomService {
         }
 
         room.setAvailable(!room.isAvailable());
-        roomRepository.save(room);
+        reindex(roomRepository.save(room));
     }
 
     @Override
@@ -160,7 +322,19 @@ public class RoomServiceImpl implements RoomService {
         }
 
         room.setAvailable(available);
-        roomRepository.save(room);
+        reindex(roomRepository.save(room));
+    }
+
+    @Override
+    public void setAvailability(Collection<Long> roomIds, Long landlordId, boolean available) {
+        List<Room> rooms = roomRepository.findAllById(roomIds);
+        for (Room room : rooms) {
+            if (!room.getLandlordId().equals(landlordId)) {
+                throw new AccessDeniedException("Unauthorized access to modify room");
+            }
+            room.setAvailable(available);
+        }
+        roomRepository.saveAll(rooms).forEach(this::reindex);
     }
 
     @Override
@@ -245,6 +419,14 @@ public class RoomServiceImpl implements RoomService {
         return roomRepository.findByIdAndLandlordId(roomId, landlordId).isPresent();
     }
 
+    @Override
+    public Set<Long> findOwnedRoomIds(Collection<Long> roomIds, Long landlordId) {
+        if (roomIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(roomRepository.findIdsByIdInAndLandlordId(roomIds, landlordId));
+    }
+
     @Override
     public Long getRoomOwnerId(Long roomId) {
         return roomRepository.findById(roomId)
@@ -258,9 +440,9 @@ public class RoomServiceImpl implements RoomService {
     }
 
     @Override
-    public Page<Room> getNewListingsLast7Days(Pageable pageable) {
+    public Page<RoomSummaryResponse> getNewListingsLast7Days(Pageable pageable) {
         LocalDateTime date = LocalDateTime.now().minusDays(7);
-        return roomRepository.findNewListingsSince(date, pageable);
+        return summarize(roomRepository.findNewListingsSince(date, pageable));
     }
 
     @Override
@@ -296,10 +478,21 @@ public class RoomServiceImpl implements RoomService {
     public Map<String, Object> getPropertyStatusStats() {
         Map<String, Object> stats = new LinkedHashMap<>();
 
-        Long totalProperties = roomRepository.countAllRooms();
-        Long availableProperties = roomRepository.countAvailableRooms();
-        Long occupiedProperties = roomRepository.countOccupiedRooms();
-        Double avgPrice = roomRepository.getAveragePrice();
+        Long totalProperties;
+        Long availableProperties;
+        Long occupiedProperties;
+        Double avgPrice;
+        if (roomStatsAggregator.isReady()) {
+            totalProperties = roomStatsAggregator.totalRooms();
+            availableProperties = roomStatsAggregator.availableRooms();
+            occupiedProperties = roomStatsAggregator.occupiedRooms();
+            avgPrice = roomStatsAggregator.averagePrice();
+        } else {
+            totalProperties = roomRepository.countAllRooms();
+            availableProperties = roomRepository.countAvailableRooms();
+            occupiedProperties = roomRepository.countOccupiedRooms();
+            avgPrice = roomRepository.getAveragePrice();
+        }
 
         stats.put("totalProperties", totalProperties);
         stats.put("availableProperties", availableProperties);
@@ -313,6 +506,9 @@ public class RoomServiceImpl implements RoomService {
 
     @Override
     public Map<String, Long> getPriceRangeDistribution() {
+        if (roomStatsAggregator.isReady()) {
+            return roomStatsAggregator.priceRangeDistribution();
+        }
         List<Object[]> results = roomRepository.countRoomsByPriceRange();
         Map<String, Long> distribution = new LinkedHashMap<>();
 
@@ -333,6 +529,9 @@ public class RoomServiceImpl implements RoomService {
 
     @Override
     public Map<String, Long> getCityDistribution() {
+        if (roomStatsAggregator.isReady()) {
+            return roomStatsAggregator.cityDistribution();
+        }
         List<Object[]> results = roomRepository.countRoomsByCity();
         return results.stream()
                 .collect(Collectors.toMap(
@@ -344,6 +543,120 @@ public class RoomServiceImpl implements RoomService {
     }
 
 
+    private boolean isAddressOnly(RoomSearchCriteria criteria) {
+        return criteria.getAddress() != null && !criteria.getAddress().isBlank()
+                && Boolean.TRUE.equals(criteria.getAvailable())
+                && (criteria.getCity() == null || criteria.getCity().isBlank())
+                && criteria.getMinPrice() == null && criteria.getMaxPrice() == null
+                && criteria.getMinSize() == null && criteria.getMaxSize() == null
+                && (criteria.getAmenities() == null || criteria.getAmenities().isEmpty());
+    }
+
+    private <T extends Comparable<T>> void validateRange(T min, T max, String field) {
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new ValidationException("Minimum " + field + " must not exceed maximum " + field);
+        }
+    }
+
+    private static void validateCoordinates(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new ValidationException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+    }
+
+    /**
+     * Radius search straight from the database. Distance order and paging happen in SQL, so only the page's
+     * rooms are loaded.
+     */
+    private Page<Room> findNearbyFromDatabase(double latitude, double longitude, double radiusKm, Pageable pageable) {
+        double latSpan = Math.toDegrees(radiusKm / 6371.0088);
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        double lngSpan = cosLat < 1e-6 ? 180 : Math.min(180, latSpan / cosLat);
+        double minLng = lngSpan >= 180 ? -180 : wrapLongitude(longitude - lngSpan);
+        double maxLng = lngSpan >= 180 ? 180 : wrapLongitude(longitude + lngSpan);
+
+        Page<Long> ids = roomRepository.findAvailableIdsWithinRadius(latitude, longitude, radiusKm,
+                Math.max(-90, latitude - latSpan), Math.min(90, latitude + latSpan), minLng, maxLng,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        return new PageImpl<>(findAllInOrder(ids.getContent().stream().mapToLong(Long::longValue).toArray()),
+                pageable, ids.getTotalElements());
+    }
+
+    private static double wrapLongitude(double longitude) {
+        return longitude > 180 ? longitude - 360 : longitude < -180 ? longitude + 360 : longitude;
+    }
+
+    private Page<Room> searchByAddress(String address, Pageable pageable) {
+        // Until the startup scan has finished, fall back to the database
+        if (!addressIndex.isReady()) {
+            return roomRepository.findRoomsBySimilarAddress(address, pageable);
+        }
+        IdPage hits = addressIndex.search(address, (int) pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(findAllInOrder(hits.ids()), pageable, hits.total());
+    }
+
+    private Page<RoomSummaryResponse> summarize(Page<Room> rooms) {
+        List<RoomSummaryResponse> content = summarize(rooms.getContent());
+        return new PageImpl<>(content, rooms.getPageable(), rooms.getTotalElements());
+    }
+
+    /**
+     * Maps rooms to listing DTOs without touching their lazy collections; images and amenities for
+     * the whole page come from two IN queries, so the statement count does not grow with the page size.
+     */
+    private List<RoomSummaryResponse> summarize(List<Room> rooms) {
+        if (rooms.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, RoomSummaryResponse> byId = new LinkedHashMap<>();
+        for (Room room : rooms) {
+            byId.put(room.getId(), RoomSummaryResponse.builder()
+                    .id(room.getId())
+                    .landlordId(room.getLandlordId())
+                    .title(room.getTitle())
+                    .price(room.getPrice())
+                    .address(room.getAddress())
+                    .city(room.getCity())
+                    .size(room.getSize())
+                    .available(room.isAvailable())
+                    .latitude(room.getLatitude())
+                    .longitude(room.getLongitude())
+                    .postedDate(room.getPostedDate())
+                    .build());
+        }
+        for (Object[] row : roomRepository.findImagesByRoomIds(byId.keySet())) {
+            byId.get((Long) row[0]).getImages().add((String) row[1]);
+        }
+        for (Object[] row : roomRepository.findAmenitiesByRoomIds(byId.keySet())) {
+            byId.get((Long) row[0]).getAmenities().put((String) row[1], (String) row[2]);
+        }
+        return new ArrayList<>(byId.values());
+    }
+
+    /**
+     * Hydrates only the given ids, preserving the index ranking order.
+     */
+    private List<Room> findAllInOrder(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> idList = Arrays.stream(ids).boxed().toList();
+        Map<Long, Room> byId = roomRepository.findAllById(idList).stream()
+                .collect(Collectors.toMap(Room::getId, Function.identity()));
+        return idList.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private void reindex(Room room) {
+        TransactionHooks.afterCommit(() -> roomIndexes.index(room));
+    }
+
+    private void unindex(Long roomId) {
+        TransactionHooks.afterCommit(() -> roomIndexes.remove(roomId));
+    }
+
     private void updateRoomFromRequest(Room room, RoomRequest request) {
         room.setTitle(request.getTitle());
         room.setDescription(request.getDescription());
@@ -351,6 +664,11 @@ public class RoomServiceImpl implements RoomService {
         room.setAddress(request.getAddress());
         room.setCity(request.getCity());
         room.setSize(request.getSize());
+        if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+            throw new ValidationException("Latitude and longitude must be given together");
+        }
+        room.setLatitude(request.getLatitude());
+        room.setLongitude(request.getLongitude());
         if (request.getAmenities() != null) {
             room.setAmenities(request.getAmenities());
         }
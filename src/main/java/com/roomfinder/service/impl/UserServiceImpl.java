@@ -3,13 +3,16 @@ package com.roomfinder.service.impl;
 import com.roomfinder.dto.request.RegisterRequest;
 import com.roomfinder.dto.request.UpdateProfileRequest;
 import com.roomfinder.dto.request.ValidateUsersRequest;
+import com.roomfinder.dto.response.CursorPage;
 import com.roomfinder.dto.response.GrowthTrendResponse;
 import com.roomfinder.entity.User;
 import com.roomfinder.enums.UserRole;
 import com.roomfinder.exceptions.UserNotFoundException;
 import com.roomfinder.repository.UserRepository;
 import com.roomfinder.service.UserService;
+import com.roomfinder.utils.CursorCodec;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -201,6 +204,14 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll(pageable);
     }
 
+    @Override
+    public CursorPage<User> scrollUsers(String cursor, int size) {
+        CursorCodec.validatePageSize(size);
+        Long afterId = cursor == null || cursor.isBlank() ? 0L : CursorCodec.decodeId(cursor);
+        List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1));
+        return CursorPage.of(users, size, user -> CursorCodec.encode(user.getId()));
+    }
+
     @Override
     public Page<User> getAllSeekers(Pageable pageable) {
         return userRepository.findAllByRole(UserRole.SEEKER, pageable);
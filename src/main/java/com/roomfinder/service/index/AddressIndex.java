@@ -0,0 +1,163 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.entity.Room;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index of address tokens to the ids of available rooms.
+ * Every query token must match an indexed token by prefix; rooms matching more tokens exactly rank first,
+ * newest rooms first within the same score.
+ */
+@Component
+public class AddressIndex implements RoomIndex {
+
+    private static final long ID_MASK = (1L << 48) - 1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, LongPostings> postings = new TreeMap<>();
+    private final Map<Long, String[]> roomTokens = new HashMap<>();
+    private volatile boolean ready;
+
+    @Override
+    public void index(Room room) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(room.getId());
+            if (!room.isAvailable() || room.getAddress() == null) {
+                return;
+            }
+            String[] tokens = tokenize(room.getAddress());
+            if (tokens.length == 0) {
+                return;
+            }
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, t -> new LongPostings()).add(room.getId());
+            }
+            roomTokens.put(room.getId(), tokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long roomId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(roomId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            roomTokens.clear();
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuildComplete() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public IdPage search(String query, int offset, int limit) {
+        String[] queryTokens = tokenize(query);
+        if (queryTokens.length == 0) {
+            return IdPage.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] candidates = null;
+            for (String token : queryTokens) {
+                long[] matches = prefixMatches(token);
+                candidates = candidates == null ? matches : LongPostings.intersect(candidates, matches);
+                if (candidates.length == 0) {
+                    return IdPage.empty();
+                }
+            }
+
+            LongPostings[] exact = new LongPostings[queryTokens.length];
+            for (int t = 0; t < queryTokens.length; t++) {
+                exact[t] = postings.get(queryTokens[t]);
+            }
+
+            // Pack (exactHits, id) into one long so a single primitive sort ranks by hits, then newest id
+            for (int i = 0; i < candidates.length; i++) {
+                long id = candidates[i];
+                int exactHits = 0;
+                for (LongPostings p : exact) {
+                    if (p != null && p.contains(id)) {
+                        exactHits++;
+                    }
+                }
+                candidates[i] = ((long) exactHits << 48) | id;
+            }
+            Arrays.sort(candidates);
+
+            int total = candidates.length;
+            int from = Math.min(offset, total);
+            int to = Math.min(from + limit, total);
+            long[] page = new long[to - from];
+            for (int i = from; i < to; i++) {
+                page[i - from] = candidates[total - 1 - i] & ID_MASK;
+            }
+            return new IdPage(page, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] prefixMatches(String token) {
+        return LongPostings.unionAll(postings.subMap(token, true, token + Character.MAX_VALUE, true).values());
+    }
+
+    private void removeInternal(Long roomId) {
+        String[] tokens = roomTokens.remove(roomId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            LongPostings p = postings.get(token);
+            if (p != null) {
+                p.remove(roomId);
+                if (p.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String part : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (!part.isEmpty()) {
+                tokens.add(part);
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,270 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.dto.request.RoomSearchCriteria;
+import com.roomfinder.entity.Room;
+import com.roomfinder.utils.RoomAttributes;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap facets over rooms, with the room's {@link RoomSlots} slot as the bit position.
+ * Every distinct amenity name gets an ordinal and a {@link BitSet} of the rooms offering it; cities and
+ * availability get bitmaps too, and price and size live in primitive arrays indexed by slot.
+ * Filters are answered by intersecting bitmaps, and facet counts are the cardinality of each facet bitmap
+ * intersected with the result.
+ */
+@Component
+public class AmenityFacetIndex implements RoomIndex {
+
+    private final RoomSlots roomSlots;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> amenityOrdinals = new HashMap<>();
+    private final List<String> amenityNames = new ArrayList<>();
+    private final List<BitSet> amenityBits = new ArrayList<>();
+    private final Map<String, BitSet> cityBits = new HashMap<>();
+    private final Map<String, String> cityNames = new HashMap<>();
+    private final BitSet allBits = new BitSet();
+    private final BitSet availableBits = new BitSet();
+    private final Map<Long, IndexedRoom> indexedRooms = new HashMap<>();
+    private double[] prices = new double[1024];
+    private int[] sizes = new int[1024];
+    private volatile boolean ready;
+
+    private record IndexedRoom(int slot, String cityKey, int[] amenities) {
+    }
+
+    public record FacetResult(IdPage page, Map<String, Long> amenityCounts, Map<String, Long> cityCounts) {
+    }
+
+    public AmenityFacetIndex(RoomSlots roomSlots) {
+        this.roomSlots = roomSlots;
+    }
+
+    @Override
+    public void index(Room room) {
+        int bit = roomSlots.slotOf(room.getId());
+        lock.writeLock().lock();
+        try {
+            removeInternal(room.getId());
+
+            String cityKey = RoomAttributes.normalize(room.getCity());
+            cityBits.computeIfAbsent(cityKey, k -> new BitSet()).set(bit);
+            cityNames.putIfAbsent(cityKey, room.getCity());
+
+            int[] ordinals = room.getAmenities().entrySet().stream()
+                    .filter(e -> e.getKey() != null && RoomAttributes.offersAmenity(e.getValue()))
+                    .mapToInt(e -> ordinalOf(e.getKey()))
+                    .distinct()
+                    .toArray();
+            for (int ordinal : ordinals) {
+                amenityBits.get(ordinal).set(bit);
+            }
+
+            ensureCapacity(bit);
+            prices[bit] = room.getPrice();
+            sizes[bit] = room.getSize();
+            allBits.set(bit);
+            availableBits.set(bit, room.isAvailable());
+            indexedRooms.put(room.getId(), new IndexedRoom(bit, cityKey, ordinals));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long roomId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(roomId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            amenityOrdinals.clear();
+            amenityNames.clear();
+            amenityBits.clear();
+            cityBits.clear();
+            cityNames.clear();
+            allBits.clear();
+            availableBits.clear();
+            indexedRooms.clear();
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuildComplete() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Filters by city, amenities, availability, price and size, returning a page of ids (newest first)
+     * with amenity counts over the result and city counts over the result before the city filter.
+     */
+    public FacetResult search(RoomSearchCriteria criteria, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet result = filterExceptCity(criteria);
+
+            Map<String, Long> cityCounts = new LinkedHashMap<>();
+            for (Map.Entry<String, BitSet> city : cityBits.entrySet()) {
+                long count = intersectionSize(result, city.getValue());
+                if (count > 0) {
+                    cityCounts.put(cityNames.get(city.getKey()), count);
+                }
+            }
+            applyCity(result, criteria);
+
+            Map<String, Long> amenityCounts = new LinkedHashMap<>();
+            for (int ordinal = 0; ordinal < amenityNames.size(); ordinal++) {
+                long count = intersectionSize(result, amenityBits.get(ordinal));
+                if (count > 0) {
+                    amenityCounts.put(amenityNames.get(ordinal), count);
+                }
+            }
+
+            return new FacetResult(roomSlots.newestFirst(result, offset, limit),
+                    sortByCount(amenityCounts), sortByCount(cityCounts));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bitmap of the slots of the rooms matching every filter, for callers that combine it with other slot
+     * bitmaps. The caller owns the returned set.
+     */
+    public BitSet matching(RoomSearchCriteria criteria) {
+        lock.readLock().lock();
+        try {
+            BitSet result = filterExceptCity(criteria);
+            applyCity(result, criteria);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet filterExceptCity(RoomSearchCriteria criteria) {
+        BitSet result;
+        if (criteria.getAvailable() == null) {
+            result = (BitSet) allBits.clone();
+        } else if (criteria.getAvailable()) {
+            result = (BitSet) availableBits.clone();
+        } else {
+            result = (BitSet) allBits.clone();
+            result.andNot(availableBits);
+        }
+
+        if (criteria.getAmenities() != null) {
+            for (String amenity : criteria.getAmenities()) {
+                if (amenity == null || amenity.isBlank()) {
+                    continue;
+                }
+                Integer ordinal = amenityOrdinals.get(RoomAttributes.normalize(amenity));
+                if (ordinal == null) {
+                    result.clear();
+                    break;
+                }
+                result.and(amenityBits.get(ordinal));
+            }
+        }
+        applyRanges(result, criteria);
+        return result;
+    }
+
+    private void applyCity(BitSet result, RoomSearchCriteria criteria) {
+        if (criteria.getCity() != null && !criteria.getCity().isBlank()) {
+            BitSet city = cityBits.get(RoomAttributes.normalize(criteria.getCity()));
+            if (city == null) {
+                result.clear();
+            } else {
+                result.and(city);
+            }
+        }
+    }
+
+    private void applyRanges(BitSet result, RoomSearchCriteria criteria) {
+        Double minPrice = criteria.getMinPrice();
+        Double maxPrice = criteria.getMaxPrice();
+        Integer minSize = criteria.getMinSize();
+        Integer maxSize = criteria.getMaxSize();
+        if (minPrice == null && maxPrice == null && minSize == null && maxSize == null) {
+            return;
+        }
+        for (int bit = result.nextSetBit(0); bit >= 0; bit = result.nextSetBit(bit + 1)) {
+            if ((minPrice != null && prices[bit] < minPrice)
+                    || (maxPrice != null && prices[bit] > maxPrice)
+                    || (minSize != null && sizes[bit] < minSize)
+                    || (maxSize != null && sizes[bit] > maxSize)) {
+                result.clear(bit);
+            }
+        }
+    }
+
+    private static long intersectionSize(BitSet a, BitSet b) {
+        BitSet tmp = (BitSet) a.clone();
+        tmp.and(b);
+        return tmp.cardinality();
+    }
+
+    private static Map<String, Long> sortByCount(Map<String, Long> counts) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
+    private int ordinalOf(String amenity) {
+        return amenityOrdinals.computeIfAbsent(RoomAttributes.normalize(amenity), key -> {
+            amenityNames.add(key);
+            amenityBits.add(new BitSet());
+            return amenityNames.size() - 1;
+        });
+    }
+
+    private void ensureCapacity(int bit) {
+        if (bit >= prices.length) {
+            int capacity = Math.max(prices.length * 2, bit + 1);
+            prices = Arrays.copyOf(prices, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+        }
+    }
+
+    private void removeInternal(Long roomId) {
+        IndexedRoom indexed = indexedRooms.remove(roomId);
+        if (indexed == null) {
+            return;
+        }
+        int bit = indexed.slot();
+        BitSet city = cityBits.get(indexed.cityKey());
+        if (city != null) {
+            city.clear(bit);
+        }
+        for (int ordinal : indexed.amenities()) {
+            amenityBits.get(ordinal).clear(bit);
+        }
+        allBits.clear(bit);
+        availableBits.clear(bit);
+    }
+}
@@ -0,0 +1,26 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.entity.Booking;
+
+/**
+ * In-memory structure derived from the bookings table.
+ * Kept in sync by the booking write paths through {@link BookingIndexes} and rebuilt on startup by
+ * {@link BookingIndexInitializer}.
+ */
+public interface BookingIndex {
+
+    /**
+     * Records the booking's current state, replacing whatever was previously indexed for its id.
+     */
+    void index(Booking booking);
+
+    void remove(Long bookingId);
+
+    void clear();
+
+    /**
+     * Called once the startup scan has fed every booking through {@link #index(Booking)}.
+     */
+    default void rebuildComplete() {
+    }
+}
@@ -0,0 +1,53 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.entity.Booking;
+import com.roomfinder.repository.BookingRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds every {@link BookingIndex} from a streaming scan of the bookings table on startup. Live writes made
+ * during the scan go through {@link BookingIndexes}, which replays them once the scan is done.
+ */
+@Component
+public class BookingIndexInitializer implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(BookingIndexInitializer.class);
+
+    private final BookingRepository bookingRepository;
+    private final BookingIndexes bookingIndexes;
+    private final EntityManager entityManager;
+
+    public BookingIndexInitializer(BookingRepository bookingRepository, BookingIndexes bookingIndexes,
+                                   EntityManager entityManager) {
+        this.bookingRepository = bookingRepository;
+        this.bookingIndexes = bookingIndexes;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void run(String... args) {
+        long start = System.currentTimeMillis();
+        bookingIndexes.startRebuild();
+
+        long count = 0;
+        try (Stream<Booking> bookings = bookingRepository.streamAll()) {
+            for (Booking booking : (Iterable<Booking>) bookings::iterator) {
+                bookingIndexes.indexScanned(booking);
+                // Keep the persistence context from growing with the scan
+                entityManager.detach(booking);
+                count++;
+            }
+        }
+
+        bookingIndexes.finishRebuild();
+        logger.info("Indexed {} bookings into {} booking indexes in {} ms",
+                count, bookingIndexes.size(), System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,89 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.entity.Booking;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The single path by which booking writes reach every {@link BookingIndex}.
+ * While {@link BookingIndexInitializer} rebuilds the indexes, each write is also recorded by booking id,
+ * and the latest one per booking is replayed once the scan is done. The scan can read a row before a live
+ * write cancels or deletes the booking and index it afterwards; the replay puts the newer state back on top.
+ */
+@Component
+public class BookingIndexes {
+
+    private final List<BookingIndex> indexes;
+    // Live writes share the read lock; the replay takes the write lock so no write lands between its steps
+    private final ReentrantReadWriteLock replayLock = new ReentrantReadWriteLock();
+    // Latest write per booking id during a rebuild; an empty value is a removal
+    private volatile Map<Long, Optional<Booking>> pendingDuringRebuild;
+
+    public BookingIndexes(List<BookingIndex> indexes) {
+        this.indexes = indexes;
+    }
+
+    public void index(Booking booking) {
+        write(booking.getId(), Optional.of(booking));
+    }
+
+    public void remove(Long bookingId) {
+        write(bookingId, Optional.empty());
+    }
+
+    int size() {
+        return indexes.size();
+    }
+
+    /**
+     * Clears every index and starts recording live writes. Call before the scan's query runs.
+     */
+    void startRebuild() {
+        pendingDuringRebuild = new ConcurrentHashMap<>();
+        indexes.forEach(BookingIndex::clear);
+    }
+
+    void indexScanned(Booking booking) {
+        indexes.forEach(index -> index.index(booking));
+    }
+
+    /**
+     * Replays the writes recorded since {@link #startRebuild()} and marks every index complete.
+     */
+    void finishRebuild() {
+        replayLock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(this::apply);
+            pendingDuringRebuild = null;
+        } finally {
+            replayLock.writeLock().unlock();
+        }
+        indexes.forEach(BookingIndex::rebuildComplete);
+    }
+
+    private void write(Long bookingId, Optional<Booking> booking) {
+        replayLock.readLock().lock();
+        try {
+            apply(bookingId, booking);
+            Map<Long, Optional<Booking>> pending = pendingDuringRebuild;
+            if (pending != null) {
+                pending.put(bookingId, booking);
+            }
+        } finally {
+            replayLock.readLock().unlock();
+        }
+    }
+
+    private void apply(Long bookingId, Optional<Booking> booking) {
+        if (booking.isPresent()) {
+            indexes.forEach(index -> index.index(booking.get()));
+        } else {
+            indexes.forEach(index -> index.remove(bookingId));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.entity.Booking;
+import com.roomfinder.enums.BookingStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Approved booking date ranges per room, for overlap checks and free-window lookups without a query.
+ * Any other status removes the booking, so approve, cancel, reject and delete all keep it current.
+ */
+@Component
+public class BookingIntervalIndex implements BookingIndex {
+
+    private final Map<Long, RoomIntervals> rooms = new ConcurrentHashMap<>();
+    // Booking id -> room id, so a removal knows which room to update
+    private final Map<Long, Long> bookingRooms = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @Override
+    public void index(Booking booking) {
+        if (booking.getStatus() != BookingStatus.APPROVED) {
+            remove(booking.getId());
+            return;
+        }
+        Long previousRoomId = bookingRooms.put(booking.getId(), booking.getRoomId());
+        if (previousRoomId != null && !previousRoomId.equals(booking.getRoomId())) {
+            removeFromRoom(previousRoomId, booking.getId());
+        }
+        RoomIntervals intervals = rooms.computeIfAbsent(booking.getRoomId(), id -> new RoomIntervals());
+        synchronized (intervals) {
+            intervals.add(booking.getId(), booking.getStartDate().toEpochDay(), booking.getEndDate().toEpochDay());
+        }
+    }
+
+    @Override
+    public void remove(Long bookingId) {
+        Long roomId = bookingRooms.remove(bookingId);
+        if (roomId != null) {
+            removeFromRoom(roomId, bookingId);
+        }
+    }
+
+    @Override
+    public void clear() {
+        rooms.clear();
+        bookingRooms.clear();
+        ready = false;
+    }
+
+    @Override
+    public void rebuildComplete() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Whether an approved booking of the room shares a day with {@code [startDate, endDate]}.
+     */
+    public boolean overlaps(Long roomId, LocalDate startDate, LocalDate endDate) {
+        RoomIntervals intervals = rooms.get(roomId);
+        if (intervals == null) {
+            return false;
+        }
+        synchronized (intervals) {
+            return intervals.overlaps(startDate.toEpochDay(), endDate.toEpochDay());
+        }
+    }
+
+    /**
+     * First date on or after {@code from} that starts {@code days} consecutive days free of approved bookings.
+     */
+    public LocalDate nextFreeStart(Long roomId, LocalDate from, int days) {
+        RoomIntervals intervals = rooms.get(roomId);
+        if (intervals == null) {
+            return from;
+        }
+        synchronized (intervals) {
+            return LocalDate.ofEpochDay(intervals.nextFreeStart(from.toEpochDay(), days));
+        }
+    }
+
+    private void removeFromRoom(long roomId, long bookingId) {
+        RoomIntervals intervals = rooms.get(roomId);
+        if (intervals != null) {
+            synchronized (intervals) {
+                intervals.remove(bookingId);
+            }
+        }
+    }
+}
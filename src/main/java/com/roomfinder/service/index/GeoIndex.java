@@ -0,0 +1,283 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.entity.Room;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fixed grid over the coordinates of available rooms, used for radius and bounding-box search.
+ * Each cell is {@link #CELL_DEGREES} on a side (about 1.1 km of latitude) and lists the rooms inside it,
+ * so a query only measures rooms in the cells its area overlaps. Longitude wraps at the antimeridian;
+ * latitude is clamped at the poles.
+ */
+@Component
+public class GeoIndex implements RoomIndex {
+
+    public static final double MAX_RADIUS_KM = 50;
+
+    // Largest latitude or longitude extent of a bounding-box search, about 220 km north to south
+    public static final double MAX_BOUNDS_DEGREES = 2;
+
+    static final double CELL_DEGREES = 0.01;
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final int LAT_CELLS = (int) Math.round(180 / CELL_DEGREES);
+    private static final int LNG_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    private static final int ID_BITS = 40;
+    private static final long ID_MASK = (1L << ID_BITS) - 1;
+
+    // Rooms are addressed by dense slot numbers so coordinates live in flat primitive arrays
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, LongPostings> cells = new HashMap<>();
+    private final Map<Long, Integer> slotsByRoomId = new HashMap<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private long[] slotRoomIds = new long[1024];
+    private double[] slotLats = new double[1024];
+    private double[] slotLngs = new double[1024];
+    private int slotCount;
+    private volatile boolean ready;
+
+    @Override
+    public void index(Room room) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(room.getId());
+            if (!room.isAvailable() || room.getLatitude() == null || room.getLongitude() == null) {
+                return;
+            }
+            int slot = allocateSlot();
+            slotRoomIds[slot] = room.getId();
+            slotLats[slot] = room.getLatitude();
+            slotLngs[slot] = room.getLongitude();
+            slotsByRoomId.put(room.getId(), slot);
+            cells.computeIfAbsent(cellKey(latCell(room.getLatitude()), lngCell(room.getLongitude())),
+                    k -> new LongPostings()).add(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long roomId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(roomId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            slotsByRoomId.clear();
+            freeSlots.clear();
+            slotRoomIds = new long[1024];
+            slotLats = new double[1024];
+            slotLngs = new double[1024];
+            slotCount = 0;
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuildComplete() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Rooms within {@code radiusKm} of the point, nearest first.
+     */
+    public IdPage nearby(double lat, double lng, double radiusKm, int offset, int limit) {
+        double latSpan = radiusKm / KM_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(lat));
+        // Near the poles the longitude span covers the whole circle
+        double lngSpan = cosLat < 1e-6 ? 180 : Math.min(180, radiusKm / (KM_PER_DEGREE * cosLat));
+        double maxSquared = latSpan * latSpan;
+
+        lock.readLock().lock();
+        try {
+            long[] scored = new long[64];
+            int hits = 0;
+            int fromLat = latCell(Math.max(-90, lat - latSpan));
+            int toLat = latCell(Math.min(90, lat + latSpan));
+            int fromLng = (int) Math.floor((lng - lngSpan + 180) / CELL_DEGREES);
+            int lngCount = Math.min(LNG_CELLS, (int) Math.floor((lng + lngSpan + 180) / CELL_DEGREES) - fromLng + 1);
+            for (int la = fromLat; la <= toLat; la++) {
+                for (int i = 0; i < lngCount; i++) {
+                    LongPostings cell = cells.get(cellKey(la, Math.floorMod(fromLng + i, LNG_CELLS)));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int c = 0; c < cell.size(); c++) {
+                        int slot = (int) cell.get(c);
+                        // Equirectangular distance: no trigonometry per room, and within a fraction of a
+                        // percent of the great-circle distance at the radii allowed here
+                        double dLat = slotLats[slot] - lat;
+                        double dLng = slotLngs[slot] - lng;
+                        if (dLng > 180) {
+                            dLng -= 360;
+                        } else if (dLng < -180) {
+                            dLng += 360;
+                        }
+                        dLng *= cosLat;
+                        double squared = dLat * dLat + dLng * dLng;
+                        if (squared > maxSquared) {
+                            continue;
+                        }
+                        if (hits == scored.length) {
+                            scored = Arrays.copyOf(scored, hits * 2);
+                        }
+                        // Distance in metres above the id: one primitive sort orders by distance, then id
+                        long metres = Math.round(Math.sqrt(squared) * KM_PER_DEGREE * 1000);
+                        scored[hits++] = (metres << ID_BITS) | slotRoomIds[slot];
+                    }
+                }
+            }
+
+            Arrays.sort(scored, 0, hits);
+            int from = Math.min(offset, hits);
+            int to = Math.min(from + limit, hits);
+            long[] page = new long[to - from];
+            for (int i = from; i < to; i++) {
+                page[i - from] = scored[i] & ID_MASK;
+            }
+            return new IdPage(page, hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rooms inside the box, newest first. A box with {@code minLng > maxLng} crosses the antimeridian.
+     * When the box spans more cells than are occupied, the occupied cells are scanned instead.
+     */
+    public IdPage withinBounds(double minLat, double maxLat, double minLng, double maxLng, int offset, int limit) {
+        boolean wraps = minLng > maxLng;
+        double lngWidth = wraps ? maxLng + 360 - minLng : maxLng - minLng;
+
+        lock.readLock().lock();
+        try {
+            long[] ids = new long[64];
+            int hits = 0;
+            int fromLat = latCell(minLat);
+            int toLat = latCell(maxLat);
+            int fromLng = lngCell(minLng);
+            int lngCount = Math.min(LNG_CELLS, (int) Math.floor(lngWidth / CELL_DEGREES) + 2);
+            List<LongPostings> overlapping = new ArrayList<>();
+            if ((long) (toLat - fromLat + 1) * lngCount > cells.size()) {
+                for (Map.Entry<Long, LongPostings> cell : cells.entrySet()) {
+                    int la = (int) (cell.getKey() / LNG_CELLS);
+                    int lngOffset = Math.floorMod((int) (cell.getKey() % LNG_CELLS) - fromLng, LNG_CELLS);
+                    if (la >= fromLat && la <= toLat && lngOffset < lngCount) {
+                        overlapping.add(cell.getValue());
+                    }
+                }
+            } else {
+                for (int la = fromLat; la <= toLat; la++) {
+                    for (int i = 0; i < lngCount; i++) {
+                        LongPostings cell = cells.get(cellKey(la, (fromLng + i) % LNG_CELLS));
+                        if (cell != null) {
+                            overlapping.add(cell);
+                        }
+                    }
+                }
+            }
+
+            for (LongPostings cell : overlapping) {
+                for (int c = 0; c < cell.size(); c++) {
+                    int slot = (int) cell.get(c);
+                    double slotLng = slotLngs[slot];
+                    boolean inLng = wraps ? slotLng >= minLng || slotLng <= maxLng
+                            : slotLng >= minLng && slotLng <= maxLng;
+                    if (!inLng || slotLats[slot] < minLat || slotLats[slot] > maxLat) {
+                        continue;
+                    }
+                    if (hits == ids.length) {
+                        ids = Arrays.copyOf(ids, hits * 2);
+                    }
+                    ids[hits++] = slotRoomIds[slot];
+                }
+            }
+
+            Arrays.sort(ids, 0, hits);
+            int from = Math.min(offset, hits);
+            int to = Math.min(from + limit, hits);
+            long[] page = new long[to - from];
+            for (int i = from; i < to; i++) {
+                page[i - from] = ids[hits - 1 - i];
+            }
+            return new IdPage(page, hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Great-circle distance by the haversine formula.
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private int allocateSlot() {
+        Integer free = freeSlots.poll();
+        if (free != null) {
+            return free;
+        }
+        if (slotCount == slotRoomIds.length) {
+            slotRoomIds = Arrays.copyOf(slotRoomIds, slotCount * 2);
+            slotLats = Arrays.copyOf(slotLats, slotCount * 2);
+            slotLngs = Arrays.copyOf(slotLngs, slotCount * 2);
+        }
+        return slotCount++;
+    }
+
+    private void removeInternal(Long roomId) {
+        Integer slot = slotsByRoomId.remove(roomId);
+        if (slot == null) {
+            return;
+        }
+        long key = cellKey(latCell(slotLats[slot]), lngCell(slotLngs[slot]));
+        LongPostings cell = cells.get(key);
+        if (cell != null) {
+            cell.remove(slot);
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+        freeSlots.push(slot);
+    }
+
+    private static int latCell(double lat) {
+        return Math.min(LAT_CELLS - 1, (int) Math.floor((lat + 90) / CELL_DEGREES));
+    }
+
+    private static int lngCell(double lng) {
+        return Math.floorMod((int) Math.floor((lng + 180) / CELL_DEGREES), LNG_CELLS);
+    }
+
+    private static long cellKey(int latCell, int lngCell) {
+        return (long) latCell * LNG_CELLS + lngCell;
+    }
+}
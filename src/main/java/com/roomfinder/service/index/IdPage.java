@@ -0,0 +1,11 @@
+package com.roomfinder.service.index;
+
+/**
+ * One page of ranked room ids from an in-memory index, plus the total number of hits.
+ */
+public record IdPage(long[] ids, long total) {
+
+    public static IdPage empty() {
+        return new IdPage(new long[0], 0);
+    }
+}
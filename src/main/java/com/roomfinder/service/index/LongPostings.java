@@ -0,0 +1,102 @@
+package com.roomfinder.service.index;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Growable, sorted array of primitive ids. Not thread-safe; callers guard it with their own lock.
+ */
+public final class LongPostings {
+
+    private long[] ids = new long[4];
+    private int size;
+
+    public boolean add(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            return false;
+        }
+        pos = -pos - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        ids[pos] = id;
+        size++;
+        return true;
+    }
+
+    public boolean remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return false;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+
+    public boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    public long get(int i) {
+        return ids[i];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Sorted union of any number of postings: one copy of every id, one sort and one pass to drop
+     * duplicates, instead of re-merging the growing result once per list.
+     */
+    public static long[] unionAll(Collection<LongPostings> postings) {
+        int length = 0;
+        for (LongPostings p : postings) {
+            length += p.size;
+        }
+        long[] out = new long[length];
+        int n = 0;
+        for (LongPostings p : postings) {
+            System.arraycopy(p.ids, 0, out, n, p.size);
+            n += p.size;
+        }
+        Arrays.sort(out);
+        int distinct = 0;
+        for (int i = 0; i < out.length; i++) {
+            if (distinct == 0 || out[i] != out[distinct - 1]) {
+                out[distinct++] = out[i];
+            }
+        }
+        return distinct == out.length ? out : Arrays.copyOf(out, distinct);
+    }
+
+    /**
+     * Sorted intersection of two sorted id arrays.
+     */
+    public static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i++];
+                j++;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+}
@@ -0,0 +1,287 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.entity.Booking;
+import com.roomfinder.enums.BookingStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-room day bitmaps of approved bookings, with the room's {@link RoomSlots} slot as the array position.
+ * A room's bitmap only spans the 64-day words between its first and last booked day, so a room booked for
+ * two years costs a dozen longs and a never-booked room costs nothing. Availability over a date range is a
+ * masked test of at most a few words per room, which lets a search clear occupied rooms from a candidate
+ * bitmap without touching the database.
+ */
+@Component
+public class OccupancyCalendar implements BookingIndex {
+
+    public static final int MAX_RANGE_DAYS = 731;
+
+    private final RoomSlots roomSlots;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Span> spans = new HashMap<>();
+    private final Map<Long, Map<Long, Span>> roomSpans = new HashMap<>();
+    private DayBitmap[] calendars = new DayBitmap[1024];
+    private volatile boolean ready;
+
+    private record Span(long roomId, long startDay, long endDay) {
+    }
+
+    /**
+     * Booked days from {@code baseDay} onwards; bit {@code i} of the words is day {@code baseDay + i}.
+     */
+    static final class DayBitmap {
+        final long baseDay;
+        final long[] words;
+
+        private DayBitmap(long baseDay, long[] words) {
+            this.baseDay = baseDay;
+            this.words = words;
+        }
+
+        static DayBitmap of(Iterable<Span> spans) {
+            long first = Long.MAX_VALUE;
+            long last = Long.MIN_VALUE;
+            for (Span span : spans) {
+                first = Math.min(first, span.startDay());
+                last = Math.max(last, span.endDay());
+            }
+            if (first > last) {
+                return null;
+            }
+            long baseDay = Math.floorDiv(first, 64) * 64;
+            long[] words = new long[(int) ((last - baseDay) / 64 + 1)];
+            for (Span span : spans) {
+                setRange(words, span.startDay() - baseDay, span.endDay() - baseDay);
+            }
+            return new DayBitmap(baseDay, words);
+        }
+
+        /**
+         * This bitmap with the span's days set. Bits are set in place when the span fits; otherwise the words
+         * are copied into a bitmap grown to cover it.
+         */
+        DayBitmap with(Span span) {
+            long end = baseDay + (long) words.length * 64;
+            DayBitmap target = this;
+            if (span.startDay() < baseDay || span.endDay() >= end) {
+                long newBase = Math.min(baseDay, Math.floorDiv(span.startDay(), 64) * 64);
+                long lastDay = Math.max(end - 1, span.endDay());
+                long[] grown = new long[(int) ((lastDay - newBase) / 64 + 1)];
+                System.arraycopy(words, 0, grown, (int) ((baseDay - newBase) / 64), words.length);
+                target = new DayBitmap(newBase, grown);
+            }
+            setRange(target.words, span.startDay() - target.baseDay, span.endDay() - target.baseDay);
+            return target;
+        }
+
+        boolean anyBooked(long fromDay, long toDay) {
+            long from = Math.max(0, fromDay - baseDay);
+            long to = Math.min((long) words.length * 64 - 1, toDay - baseDay);
+            if (from > to) {
+                return false;
+            }
+            int firstWord = (int) (from >>> 6);
+            int lastWord = (int) (to >>> 6);
+            long firstMask = -1L << from;
+            long lastMask = -1L >>> (63 - (to & 63));
+            if (firstWord == lastWord) {
+                return (words[firstWord] & firstMask & lastMask) != 0;
+            }
+            if ((words[firstWord] & firstMask) != 0 || (words[lastWord] & lastMask) != 0) {
+                return true;
+            }
+            for (int i = firstWord + 1; i < lastWord; i++) {
+                if (words[i] != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Sets bit {@code day - fromDay} of {@code out} for every booked day in {@code [fromDay, toDay]}.
+         */
+        void copyTo(BitSet out, long fromDay, long toDay) {
+            long from = Math.max(0, fromDay - baseDay);
+            long to = Math.min((long) words.length * 64 - 1, toDay - baseDay);
+            for (long bit = from; bit <= to; bit++) {
+                if ((words[(int) (bit >>> 6)] & (1L << bit)) != 0) {
+                    out.set((int) (bit + baseDay - fromDay));
+                }
+            }
+        }
+
+        private static void setRange(long[] words, long from, long to) {
+            for (long bit = from; bit <= to; bit++) {
+                words[(int) (bit >>> 6)] |= 1L << bit;
+            }
+        }
+    }
+
+    public OccupancyCalendar(RoomSlots roomSlots) {
+        this.roomSlots = roomSlots;
+    }
+
+    @Override
+    public void index(Booking booking) {
+        if (booking.getStatus() != BookingStatus.APPROVED) {
+            remove(booking.getId());
+            return;
+        }
+        Span span = new Span(booking.getRoomId(), booking.getStartDate().toEpochDay(), booking.getEndDate().toEpochDay());
+        lock.writeLock().lock();
+        try {
+            Span previous = spans.put(booking.getId(), span);
+            if (span.equals(previous)) {
+                return;
+            }
+            if (previous != null && previous.roomId() != span.roomId()) {
+                detach(previous.roomId(), booking.getId());
+            }
+            roomSpans.computeIfAbsent(span.roomId(), id -> new HashMap<>()).put(booking.getId(), span);
+            if (previous != null && previous.roomId() == span.roomId()) {
+                // The booking moved within the room, and its old days may not be covered by any other booking
+                rebuildRoom(span.roomId());
+            } else {
+                addSpan(span);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookingId) {
+        lock.writeLock().lock();
+        try {
+            Span previous = spans.remove(bookingId);
+            if (previous != null) {
+                detach(previous.roomId(), bookingId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            spans.clear();
+            roomSpans.clear();
+            calendars = new DayBitmap[1024];
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuildComplete() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Clears from {@code rooms} (a bitmap of {@link RoomSlots} slots) every room with an approved booking on any day of
+     * {@code [from, to]}.
+     */
+    public void removeOccupied(BitSet rooms, LocalDate from, LocalDate to) {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        lock.readLock().lock();
+        try {
+            DayBitmap[] current = calendars;
+            for (int bit = rooms.nextSetBit(0); bit >= 0 && bit < current.length; bit = rooms.nextSetBit(bit + 1)) {
+                DayBitmap calendar = current[bit];
+                if (calendar != null && calendar.anyBooked(fromDay, toDay)) {
+                    rooms.clear(bit);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isFree(Long roomId, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            DayBitmap calendar = calendarOf(roomId);
+            return calendar == null || !calendar.anyBooked(from.toEpochDay(), to.toEpochDay());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The room's approved days in {@code [from, to]}: bit {@code i} is set when day {@code from + i} is booked.
+     */
+    public BitSet bookedDays(Long roomId, LocalDate from, LocalDate to) {
+        BitSet days = new BitSet();
+        lock.readLock().lock();
+        try {
+            DayBitmap calendar = calendarOf(roomId);
+            if (calendar != null) {
+                calendar.copyTo(days, from.toEpochDay(), to.toEpochDay());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return days;
+    }
+
+    private DayBitmap calendarOf(Long roomId) {
+        int slot = roomSlots.existingSlotOf(roomId);
+        return slot >= 0 && slot < calendars.length ? calendars[slot] : null;
+    }
+
+    private void detach(long roomId, long bookingId) {
+        Map<Long, Span> bookings = roomSpans.get(roomId);
+        if (bookings == null) {
+            return;
+        }
+        bookings.remove(bookingId);
+        if (bookings.isEmpty()) {
+            roomSpans.remove(roomId);
+        }
+        rebuildRoom(roomId);
+    }
+
+    // A new booking only adds days, so it is set into the room's bitmap without walking the other spans
+    private void addSpan(Span span) {
+        int slot = roomSlots.slotOf(span.roomId());
+        if (slot >= calendars.length) {
+            calendars = Arrays.copyOf(calendars, Math.max(calendars.length * 2, slot + 1));
+        }
+        DayBitmap calendar = calendars[slot];
+        calendars[slot] = calendar == null ? DayBitmap.of(List.of(span)) : calendar.with(span);
+    }
+
+    // Rebuilding from the room's spans keeps overlapping legacy bookings correct when one of them goes away
+    private void rebuildRoom(long roomId) {
+        Map<Long, Span> bookings = roomSpans.get(roomId);
+        DayBitmap calendar = bookings == null ? null : DayBitmap.of(bookings.values());
+        int slot = calendar == null ? roomSlots.existingSlotOf(roomId) : roomSlots.slotOf(roomId);
+        if (slot < 0) {
+            return;
+        }
+        if (slot >= calendars.length) {
+            if (calendar == null) {
+                return;
+            }
+            calendars = Arrays.copyOf(calendars, Math.max(calendars.length * 2, slot + 1));
+        }
+        calendars[slot] = calendar;
+    }
+}
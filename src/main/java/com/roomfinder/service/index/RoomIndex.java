@@ -0,0 +1,26 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.entity.Room;
+
+/**
+ * In-memory structure derived from the rooms table.
+ * Kept in sync by the room write paths through {@link RoomIndexes} and rebuilt on startup by
+ * {@link RoomIndexInitializer}.
+ */
+public interface RoomIndex {
+
+    /**
+     * Adds the room or replaces whatever was previously indexed for its id.
+     */
+    void index(Room room);
+
+    void remove(Long roomId);
+
+    void clear();
+
+    /**
+     * Called once the startup scan has fed every room through {@link #index(Room)}.
+     */
+    default void rebuildComplete() {
+    }
+}
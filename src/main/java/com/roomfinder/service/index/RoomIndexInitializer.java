@@ -0,0 +1,52 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.entity.Room;
+import com.roomfinder.repository.RoomRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds every {@link RoomIndex} from a streaming scan of the rooms table on startup. Live writes made
+ * during the scan go through {@link RoomIndexes}, which replays them once the scan is done.
+ */
+@Component
+public class RoomIndexInitializer implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(RoomIndexInitializer.class);
+
+    private final RoomRepository roomRepository;
+    private final RoomIndexes roomIndexes;
+    private final EntityManager entityManager;
+
+    public RoomIndexInitializer(RoomRepository roomRepository, RoomIndexes roomIndexes, EntityManager entityManager) {
+        this.roomRepository = roomRepository;
+        this.roomIndexes = roomIndexes;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void run(String... args) {
+        long start = System.currentTimeMillis();
+        roomIndexes.startRebuild();
+
+        long count = 0;
+        try (Stream<Room> rooms = roomRepository.streamAll()) {
+            for (Room room : (Iterable<Room>) rooms::iterator) {
+                roomIndexes.indexScanned(room);
+                // Keep the persistence context from growing with the scan
+                entityManager.detach(room);
+                count++;
+            }
+        }
+
+        roomIndexes.finishRebuild();
+        logger.info("Indexed {} rooms into {} room indexes in {} ms",
+                count, roomIndexes.size(), System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,89 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.entity.Room;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The single path by which room writes reach every {@link RoomIndex}.
+ * While {@link RoomIndexInitializer} rebuilds the indexes, each write is also recorded by room id, and the
+ * latest one per room is replayed once the scan is done. The scan can read a row before a live write changes
+ * or deletes it and index it afterwards; the replay puts the newer state back on top.
+ */
+@Component
+public class RoomIndexes {
+
+    private final List<RoomIndex> indexes;
+    // Live writes share the read lock; the replay takes the write lock so no write lands between its steps
+    private final ReentrantReadWriteLock replayLock = new ReentrantReadWriteLock();
+    // Latest write per room id during a rebuild; an empty value is a removal
+    private volatile Map<Long, Optional<Room>> pendingDuringRebuild;
+
+    public RoomIndexes(List<RoomIndex> indexes) {
+        this.indexes = indexes;
+    }
+
+    public void index(Room room) {
+        write(room.getId(), Optional.of(room));
+    }
+
+    public void remove(Long roomId) {
+        write(roomId, Optional.empty());
+    }
+
+    int size() {
+        return indexes.size();
+    }
+
+    /**
+     * Clears every index and starts recording live writes. Call before the scan's query runs.
+     */
+    void startRebuild() {
+        pendingDuringRebuild = new ConcurrentHashMap<>();
+        indexes.forEach(RoomIndex::clear);
+    }
+
+    void indexScanned(Room room) {
+        indexes.forEach(index -> index.index(room));
+    }
+
+    /**
+     * Replays the writes recorded since {@link #startRebuild()} and marks every index complete.
+     */
+    void finishRebuild() {
+        replayLock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(this::apply);
+            pendingDuringRebuild = null;
+        } finally {
+            replayLock.writeLock().unlock();
+        }
+        indexes.forEach(RoomIndex::rebuildComplete);
+    }
+
+    private void write(Long roomId, Optional<Room> room) {
+        replayLock.readLock().lock();
+        try {
+            apply(roomId, room);
+            Map<Long, Optional<Room>> pending = pendingDuringRebuild;
+            if (pending != null) {
+                pending.put(roomId, room);
+            }
+        } finally {
+            replayLock.readLock().unlock();
+        }
+    }
+
+    private void apply(Long roomId, Optional<Room> room) {
+        if (room.isPresent()) {
+            indexes.forEach(index -> index.index(room.get()));
+        } else {
+            indexes.forEach(index -> index.remove(roomId));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.roomfinder.service.index;
+
+import java.util.Arrays;
+
+/**
+ * Closed day intervals of one room, as epoch days, sorted by start.
+ * A running maximum of the end days makes the array a flattened interval tree: the intervals starting on or
+ * before a day form a prefix found by binary search, and the prefix maximum says whether any of them reaches
+ * a given day. Not thread-safe; callers guard it with their own lock.
+ */
+public final class RoomIntervals {
+
+    private long[] starts = new long[4];
+    private long[] ends = new long[4];
+    private long[] ids = new long[4];
+    private long[] maxEnds = new long[4];
+    private int size;
+
+    /**
+     * Adds the interval, or moves it if the id is already present.
+     */
+    public void add(long id, long start, long end) {
+        remove(id);
+        int pos = upperBound(start);
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+            maxEnds = Arrays.copyOf(maxEnds, size * 2);
+        }
+        System.arraycopy(starts, pos, starts, pos + 1, size - pos);
+        System.arraycopy(ends, pos, ends, pos + 1, size - pos);
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        starts[pos] = start;
+        ends[pos] = end;
+        ids[pos] = id;
+        size++;
+        recomputeMaxEnds(pos);
+    }
+
+    public boolean remove(long id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                System.arraycopy(starts, i + 1, starts, i, size - i - 1);
+                System.arraycopy(ends, i + 1, ends, i, size - i - 1);
+                System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+                size--;
+                recomputeMaxEnds(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether any interval shares at least one day with {@code [start, end]}.
+     */
+    public boolean overlaps(long start, long end) {
+        int prefix = upperBound(end);
+        return prefix > 0 && maxEnds[prefix - 1] >= start;
+    }
+
+    /**
+     * First day on or after {@code from} that begins {@code days} consecutive free days.
+     */
+    public long nextFreeStart(long from, int days) {
+        long candidate = from;
+        // maxEnds is non-decreasing, so skip every interval that ends before the candidate in one search
+        int i = firstMaxEndAtLeast(candidate);
+        for (; i < size; i++) {
+            if (starts[i] > candidate + days - 1) {
+                break;
+            }
+            candidate = Math.max(candidate, ends[i] + 1);
+        }
+        return candidate;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Number of intervals starting on or before the day
+    private int upperBound(long day) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] <= day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int firstMaxEndAtLeast(long day) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnds[mid] < day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void recomputeMaxEnds(int from) {
+        for (int i = from; i < size; i++) {
+            maxEnds[i] = i == 0 ? ends[0] : Math.max(maxEnds[i - 1], ends[i]);
+        }
+    }
+}
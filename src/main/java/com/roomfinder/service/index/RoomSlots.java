@@ -0,0 +1,87 @@
+package com.roomfinder.service.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Dense slot numbers for room ids, shared by the bitmap indexes so their bitmaps can be combined.
+ * A room keeps its slot for the life of the process: slots are never reused, so a bitmap built by one index
+ * can never name a different room in another. The cost is one map entry and one long per room ever indexed.
+ */
+@Component
+public class RoomSlots {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotsByRoomId = new HashMap<>();
+    private long[] roomIds = new long[1024];
+    private int slotCount;
+
+    /**
+     * The room's slot, assigning the next free one on first use.
+     */
+    public int slotOf(long roomId) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotsByRoomId.get(roomId);
+            if (slot != null) {
+                return slot;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            return slotsByRoomId.computeIfAbsent(roomId, id -> {
+                if (slotCount == roomIds.length) {
+                    roomIds = Arrays.copyOf(roomIds, slotCount * 2);
+                }
+                roomIds[slotCount] = id;
+                return slotCount++;
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The room's slot, or -1 when the room was never indexed.
+     */
+    public int existingSlotOf(long roomId) {
+        lock.readLock().lock();
+        try {
+            return slotsByRoomId.getOrDefault(roomId, -1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Pages a bitmap of slots by room id, highest (newest) id first.
+     */
+    public IdPage newestFirst(BitSet slots, int offset, int limit) {
+        long[] ids = new long[slots.cardinality()];
+        lock.readLock().lock();
+        try {
+            int n = 0;
+            for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+                ids[n++] = roomIds[slot];
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Arrays.sort(ids);
+        int from = Math.min(offset, ids.length);
+        int to = Math.min(from + limit, ids.length);
+        long[] page = new long[to - from];
+        for (int i = from; i < to; i++) {
+            page[i - from] = ids[ids.length - 1 - i];
+        }
+        return new IdPage(page, ids.length);
+    }
+}
@@ -0,0 +1,205 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.entity.Room;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Trigram index over the title, address and city of available rooms, used for typo-tolerant search.
+ * Trigrams follow pg_trgm: each word is lower-cased and padded with two leading and one trailing space.
+ * A room matches when it shares at least {@link #MIN_SIMILARITY} of the query's trigrams; hits are ranked
+ * by that share, then by overall trigram similarity, then newest first.
+ */
+@Component
+public class TrigramIndex implements RoomIndex {
+
+    static final double MIN_SIMILARITY = 0.5;
+
+    private static final int ID_BITS = 40;
+    private static final long ID_MASK = (1L << ID_BITS) - 1;
+    private static final long[] EMPTY = new long[0];
+
+    // Rooms are addressed by dense slot numbers so a query can count shared trigrams in a flat int array
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, LongPostings> postings = new HashMap<>();
+    private final Map<Long, Integer> slotsByRoomId = new HashMap<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private long[] slotRoomIds = new long[1024];
+    private long[][] slotTrigrams = new long[1024][];
+    private int slotCount;
+    private volatile boolean ready;
+
+    @Override
+    public void index(Room room) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(room.getId());
+            if (!room.isAvailable()) {
+                return;
+            }
+            long[] trigrams = trigrams(Stream.of(room.getTitle(), room.getAddress(), room.getCity())
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.joining(" ")));
+            if (trigrams.length == 0) {
+                return;
+            }
+            int slot = allocateSlot();
+            slotRoomIds[slot] = room.getId();
+            slotTrigrams[slot] = trigrams;
+            slotsByRoomId.put(room.getId(), slot);
+            for (long trigram : trigrams) {
+                postings.computeIfAbsent(trigram, t -> new LongPostings()).add(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long roomId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(roomId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            slotsByRoomId.clear();
+            freeSlots.clear();
+            slotRoomIds = new long[1024];
+            slotTrigrams = new long[1024][];
+            slotCount = 0;
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuildComplete() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public IdPage search(String query, int offset, int limit) {
+        long[] queryTrigrams = trigrams(query);
+        if (queryTrigrams.length == 0) {
+            return IdPage.empty();
+        }
+        int minShared = (int) Math.ceil(queryTrigrams.length * MIN_SIMILARITY);
+
+        lock.readLock().lock();
+        try {
+            int[] shared = new int[slotCount];
+            for (long trigram : queryTrigrams) {
+                LongPostings p = postings.get(trigram);
+                if (p == null) {
+                    continue;
+                }
+                for (int i = 0; i < p.size(); i++) {
+                    shared[(int) p.get(i)]++;
+                }
+            }
+
+            long[] scored = new long[64];
+            int hits = 0;
+            for (int slot = 0; slot < slotCount; slot++) {
+                int common = shared[slot];
+                if (common < minShared) {
+                    continue;
+                }
+                double coverage = (double) common / queryTrigrams.length;
+                double similarity = (double) common / (queryTrigrams.length + slotTrigrams[slot].length - common);
+                // 11 bits of coverage, 11 bits of similarity, 40 bits of id: one primitive sort does the ranking
+                long score = ((long) (coverage * 2047) << 11) | (long) (similarity * 2047);
+                if (hits == scored.length) {
+                    scored = Arrays.copyOf(scored, hits * 2);
+                }
+                scored[hits++] = (score << ID_BITS) | slotRoomIds[slot];
+            }
+
+            Arrays.sort(scored, 0, hits);
+            int from = Math.min(offset, hits);
+            int to = Math.min(from + limit, hits);
+            long[] page = new long[to - from];
+            for (int i = from; i < to; i++) {
+                page[i - from] = scored[hits - 1 - i] & ID_MASK;
+            }
+            return new IdPage(page, hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int allocateSlot() {
+        Integer free = freeSlots.poll();
+        if (free != null) {
+            return free;
+        }
+        if (slotCount == slotRoomIds.length) {
+            slotRoomIds = Arrays.copyOf(slotRoomIds, slotCount * 2);
+            slotTrigrams = Arrays.copyOf(slotTrigrams, slotCount * 2);
+        }
+        return slotCount++;
+    }
+
+    private void removeInternal(Long roomId) {
+        Integer slot = slotsByRoomId.remove(roomId);
+        if (slot == null) {
+            return;
+        }
+        for (long trigram : slotTrigrams[slot]) {
+            LongPostings p = postings.get(trigram);
+            if (p != null) {
+                p.remove(slot);
+                if (p.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+        slotTrigrams[slot] = null;
+        freeSlots.push(slot);
+    }
+
+    /**
+     * Sorted, distinct trigrams of the text, each packed into a long as three 16-bit chars.
+     */
+    static long[] trigrams(String text) {
+        if (text == null) {
+            return EMPTY;
+        }
+        long[] out = new long[16];
+        int n = 0;
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                if (n == out.length) {
+                    out = Arrays.copyOf(out, n * 2);
+                }
+                out[n++] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+            }
+        }
+        return Arrays.stream(out, 0, n).sorted().distinct().toArray();
+    }
+}
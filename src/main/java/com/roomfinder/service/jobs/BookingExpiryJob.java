@@ -0,0 +1,78 @@
+package com.roomfinder.service.jobs;
+
+import com.roomfinder.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves pending bookings whose start date has passed to EXPIRED.
+ * Each chunk is one bulk UPDATE over the oldest stale rows, committed on its own, so no transaction or row
+ * lock lives longer than a chunk. A run stops after {@code max-chunks} chunks and the next run continues
+ * from the oldest remaining row.
+ * <p>
+ * Metrics: {@code bookings.expired} counts expired rows, {@code bookings.expiry.run} times each run, and
+ * {@code bookings.expiry.lag.days} is how many days ago the oldest still-unexpired stale booking started.
+ */
+@Component
+public class BookingExpiryJob {
+    private static final Logger logger = LoggerFactory.getLogger(BookingExpiryJob.class);
+
+    private final BookingRepository bookingRepository;
+    private final int chunkSize;
+    private final int maxChunks;
+    private final Counter expired;
+    private final Timer runTimer;
+    private final AtomicLong lagDays = new AtomicLong();
+
+    public BookingExpiryJob(BookingRepository bookingRepository, MeterRegistry meterRegistry,
+                            @Value("${app.bookings.expiry.chunk-size:500}") int chunkSize,
+                            @Value("${app.bookings.expiry.max-chunks:200}") int maxChunks) {
+        this.bookingRepository = bookingRepository;
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+        this.expired = Counter.builder("bookings.expired")
+                .description("Pending bookings moved to EXPIRED")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("bookings.expiry.run").register(meterRegistry);
+        meterRegistry.gauge("bookings.expiry.lag.days", lagDays);
+    }
+
+    @Scheduled(initialDelayString = "${app.bookings.expiry.interval:PT10M}",
+            fixedDelayString = "${app.bookings.expiry.interval:PT10M}")
+    public void run() {
+        runTimer.record(() -> expireStaleBookings(LocalDate.now()));
+    }
+
+    /**
+     * Expires bookings starting before {@code today} until a chunk comes back short or the chunk budget is
+     * spent; returns the rows expired.
+     */
+    long expireStaleBookings(LocalDate today) {
+        long total = 0;
+        for (int chunk = 0; chunk < maxChunks; chunk++) {
+            int updated = bookingRepository.expirePendingStartingBefore(today, chunkSize);
+            total += updated;
+            expired.increment(updated);
+            if (updated < chunkSize) {
+                break;
+            }
+        }
+        lagDays.set(bookingRepository.findOldestPendingStartBefore(today)
+                .map(oldest -> ChronoUnit.DAYS.between(oldest, today))
+                .orElse(0L));
+        if (total > 0) {
+            logger.info("Expired {} stale pending bookings; lag {} days", total, lagDays.get());
+        }
+        return total;
+    }
+}
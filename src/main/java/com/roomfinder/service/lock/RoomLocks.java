@@ -0,0 +1,50 @@
+package com.roomfinder.service.lock;
+
+import com.roomfinder.repository.BookingRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Serializes booking decisions per room, within this node and across nodes, with a transaction-scoped
+ * Postgres advisory lock on the room id. The lock is held until the transaction commits, so the next
+ * caller's database overlap check sees the committed approval. The in-memory indexes are only refreshed
+ * after commit, once the lock is already released, so the next caller may find them stale: callers must
+ * re-check overlaps against the database and treat the indexes as a shortcut only. Waiting callers already
+ * hold a pooled connection; the lock is taken first thing in the transaction to keep that wait short.
+ */
+@Component
+public class RoomLocks {
+
+    // Keeps room locks apart from other advisory lock users
+    static final int ADVISORY_NAMESPACE = 0x524f4f4d;
+
+    private final BookingRepository bookingRepository;
+
+    public RoomLocks(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    /**
+     * Locks the room until the current transaction commits or rolls back.
+     * A transaction needing several rooms must take them together through {@link #lockAllForTransaction}.
+     */
+    public void lockForTransaction(Long roomId) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Room locks must be taken inside a transaction");
+        }
+        bookingRepository.acquireAdvisoryXactLock(ADVISORY_NAMESPACE, roomId);
+    }
+
+    /**
+     * Locks every room until the current transaction completes, in room id order. Every multi-room caller
+     * using the same order, on every node, is what keeps two batches from deadlocking.
+     */
+    public void lockAllForTransaction(Collection<Long> roomIds) {
+        roomIds.stream()
+                .distinct()
+                .sorted()
+                .forEach(this::lockForTransaction);
+    }
+}
@@ -0,0 +1,131 @@
+package com.roomfinder.service.messaging;
+
+import com.roomfinder.entity.Message;
+import com.roomfinder.repository.ConversationSummaryRepository;
+import com.roomfinder.repository.ConversationSummaryRepository.UnreadCount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps {@code conversation_summary} in step with the messages table.
+ * Sending, reading and deleting a message update the summary rows in the same transaction, so the inbox
+ * commits or rolls back with the message. When a write touches both sides of a pair, the lower user id's
+ * row is written first, so concurrent writes to one pair lock its rows in the same order. Every unread
+ * count written is handed to {@link UnreadCounters}, which applies it after commit. On startup an empty
+ * table is backfilled from the existing messages.
+ */
+@Component
+public class ConversationSummaryRollup implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(ConversationSummaryRollup.class);
+
+    private final ConversationSummaryRepository summaryRepository;
+    private final UnreadCounters unreadCounters;
+    private final TransactionTemplate transactionTemplate;
+
+    public ConversationSummaryRollup(ConversationSummaryRepository summaryRepository,
+                                     UnreadCounters unreadCounters,
+                                     TransactionTemplate transactionTemplate) {
+        this.summaryRepository = summaryRepository;
+        this.unreadCounters = unreadCounters;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Makes a newly saved message the last message of both sides and, unless it is already marked read (as
+     * imported messages can be), counts it as unread for the receiver.
+     */
+    public void messageSent(Message message) {
+        requireTransaction();
+        Long senderId = message.getSenderId();
+        Long receiverId = message.getReceiverId();
+        int received = message.isRead() ? 0 : 1;
+        UnreadCount unread;
+        if (senderId.equals(receiverId)) {
+            unread = record(senderId, senderId, message, received);
+        } else if (senderId < receiverId) {
+            record(senderId, receiverId, message, 0);
+            unread = record(receiverId, senderId, message, received);
+        } else {
+            unread = record(receiverId, senderId, message, received);
+            record(senderId, receiverId, message, 0);
+        }
+        unreadCounters.update(receiverId, senderId, unread);
+    }
+
+    /**
+     * Takes {@code count} messages from {@code senderId} off the reader's unread count.
+     */
+    public void messagesRead(Long readerId, Long senderId, int count) {
+        messagesRead(readerId, Map.of(senderId, count));
+    }
+
+    /**
+     * Applies per-sender read counts for one reader, in sender id order.
+     */
+    public void messagesRead(Long readerId, Map<Long, Integer> countsBySender) {
+        requireTransaction();
+        Map<Long, UnreadCount> unreadBySender = new HashMap<>();
+        new TreeMap<>(countsBySender).forEach((senderId, count) -> {
+            UnreadCount unread = count > 0 ? summaryRepository.decrementUnread(readerId, senderId, count) : null;
+            if (unread != null) {
+                unreadBySender.put(senderId, unread);
+            }
+        });
+        unreadCounters.update(readerId, unreadBySender);
+    }
+
+    /**
+     * Accounts for a message that has just been deleted: an unread message leaves the receiver's count, and
+     * a side whose last message it was falls back to the latest remaining one, or is removed when none is
+     * left.
+     */
+    public void messageDeleted(Message message) {
+        requireTransaction();
+        Long low = Math.min(message.getSenderId(), message.getReceiverId());
+        Long high = Math.max(message.getSenderId(), message.getReceiverId());
+        forget(low, high, message);
+        if (!low.equals(high)) {
+            forget(high, low, message);
+        }
+    }
+
+    @Override
+    public void run(String... args) {
+        if (summaryRepository.count() == 0) {
+            long start = System.currentTimeMillis();
+            Integer rows = transactionTemplate.execute(status -> summaryRepository.backfill());
+            logger.info("Backfilled {} conversation summaries in {} ms", rows, System.currentTimeMillis() - start);
+        }
+    }
+
+    private UnreadCount record(Long ownerId, Long otherUserId, Message message, int unread) {
+        return summaryRepository.recordMessage(ownerId, otherUserId, message.getId(), message.getSenderId(),
+                message.getContent(), message.getSentAt(), unread);
+    }
+
+    private void forget(Long ownerId, Long otherUserId, Message message) {
+        if (!message.isRead() && ownerId.equals(message.getReceiverId())) {
+            UnreadCount unread = summaryRepository.decrementUnread(ownerId, otherUserId, 1);
+            if (unread != null) {
+                unreadCounters.update(ownerId, otherUserId, unread);
+            }
+        }
+        if (summaryRepository.replaceLastMessage(ownerId, otherUserId, message.getId()) == 0) {
+            summaryRepository.deleteIfLastMessage(ownerId, otherUserId, message.getId());
+        }
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Conversation summaries must be updated inside a transaction");
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.roomfinder.service.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers STOMP notifications from a bounded queue drained by a few worker threads, so slow subscribers never hold a request
+ * thread or its database connection. Callers hand notifications over once their transaction has committed,
+ * normally from a {@code TransactionHooks.afterCommit} action.
+ * The queue is bounded: when it is full the caller waits up to {@code app.messaging.dispatch.offer-timeout}
+ * and the notification is then dropped. A send that fails with a {@code MessagingException} is
+ * queued again up to {@code app.messaging.dispatch.max-attempts} times; any other exception drops the
+ * notification without stopping its worker. On shutdown the workers drain the queue for up to five
+ * seconds. Notifications are best effort; clients resynchronise
+ * from the REST endpoints. Queue depth, delivery latency from hand-over, retries and drops are published
+ * as {@code messaging.dispatch.*} meters.
+ */
+@Component
+public class NotificationDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final BlockingQueue<Delivery> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+    private final long offerTimeoutNanos;
+    private final int maxAttempts;
+    private final Timer latency;
+    private final Counter retries;
+    private final Counter droppedQueueFull;
+    private final Counter droppedFailed;
+
+    public NotificationDispatcher(SimpMessagingTemplate messagingTemplate, MeterRegistry meterRegistry,
+                                  @Value("${app.messaging.dispatch.threads:2}") int threads,
+                                  @Value("${app.messaging.dispatch.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${app.messaging.dispatch.offer-timeout:20ms}") Duration offerTimeout,
+                                  @Value("${app.messaging.dispatch.max-attempts:3}") int maxAttempts) {
+        this.messagingTemplate = messagingTemplate;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.maxAttempts = maxAttempts;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.latency = Timer.builder("messaging.dispatch.latency")
+                .description("Time from hand-over to delivery of a STOMP notification")
+                .register(meterRegistry);
+        this.retries = Counter.builder("messaging.dispatch.retries").register(meterRegistry);
+        this.droppedQueueFull = Counter.builder("messaging.dispatch.dropped")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.droppedFailed = Counter.builder("messaging.dispatch.dropped")
+                .tag("reason", "failed")
+                .register(meterRegistry);
+        Gauge.builder("messaging.dispatch.queue.depth", queue, BlockingQueue::size)
+                .register(meterRegistry);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ws-dispatch-");
+        for (int i = 0; i < threads; i++) {
+            Thread worker = threadFactory.newThread(this::work);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    public void convertAndSend(String destination, Object payload) {
+        submit(new Delivery(null, destination, payload, System.nanoTime(), 1));
+    }
+
+    public void convertAndSendToUser(String user, String destination, Object payload) {
+        submit(new Delivery(user, destination, payload, System.nanoTime(), 1));
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        for (Thread worker : workers) {
+            worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        }
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        List<Delivery> undelivered = new ArrayList<>();
+        queue.drainTo(undelivered);
+        if (!undelivered.isEmpty()) {
+            logger.warn("Dropping {} undelivered notifications on shutdown", undelivered.size());
+        }
+    }
+
+    // Runs until shutdown has been requested and the queue is empty
+    private void work() {
+        try {
+            while (running || !queue.isEmpty()) {
+                Delivery delivery = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (delivery != null) {
+                    delivery.run();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void submit(Delivery delivery) {
+        if (!enqueue(delivery, offerTimeoutNanos)) {
+            droppedQueueFull.increment();
+        }
+    }
+
+    private boolean enqueue(Delivery delivery, long timeoutNanos) {
+        if (!running) {
+            return false;
+        }
+        try {
+            return queue.offer(delivery, timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private final class Delivery {
+        final String user;
+        final String destination;
+        final Object payload;
+        final long handedOverAt;
+        final int attempt;
+
+        Delivery(String user, String destination, Object payload, long handedOverAt, int attempt) {
+            this.user = user;
+            this.destination = destination;
+            this.payload = payload;
+            this.handedOverAt = handedOverAt;
+            this.attempt = attempt;
+        }
+
+        void run() {
+            try {
+                if (user == null) {
+                    messagingTemplate.convertAndSend(destination, payload);
+                } else {
+                    messagingTemplate.convertAndSendToUser(user, destination, payload);
+                }
+                latency.record(System.nanoTime() - handedOverAt, TimeUnit.NANOSECONDS);
+            } catch (MessagingException e) {
+                // Retries never wait, so a full queue cannot stall the workers
+                if (attempt < maxAttempts
+                        && enqueue(new Delivery(user, destination, payload, handedOverAt, attempt + 1), 0)) {
+                    retries.increment();
+                } else {
+                    droppedFailed.increment();
+                    logger.warn("Dropping notification to {} after {} attempts: {}", destination, attempt, e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                // Not a broker failure, so a retry would fail the same way; the worker must outlive it
+                droppedFailed.increment();
+                logger.warn("Dropping notification to {}: {}", destination, e.toString());
+            }
+        }
+    }
+}
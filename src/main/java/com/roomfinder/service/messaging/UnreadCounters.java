@@ -0,0 +1,108 @@
+package com.roomfinder.service.messaging;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.roomfinder.dto.response.UnreadCountResponse;
+import com.roomfinder.entity.ConversationSummary;
+import com.roomfinder.repository.ConversationSummaryRepository;
+import com.roomfinder.repository.ConversationSummaryRepository.UnreadCount;
+import com.roomfinder.utils.TransactionHooks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user unread counts by other user, served from memory so a badge never reads message rows.
+ * {@code conversation_summary} stays the durable copy: a user's counts are loaded from it on first
+ * request, and every summary write hands the row's new count and version over after commit. After-commit
+ * hooks can run out of commit order, so a count only replaces one with a lower version. Only a user whose
+ * counts are already cached gets the badge pushed to {@code /user/queue/unread}; anyone else loads it on
+ * their next request, so the hook never reads the database. Entries expire after
+ * {@code app.messaging.unread.ttl}, which bounds how long writes made around the service can show. Cache
+ * meters are tagged {@code cache=unread}.
+ */
+@Component
+public class UnreadCounters {
+    static final String DESTINATION = "/queue/unread";
+
+    private final ConversationSummaryRepository summaryRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    // Immutable maps of other user id to the latest count seen, replaced on every change. Zero counts stay
+    // in the map so their version still rejects an older update.
+    private final Cache<Long, Map<Long, Unread>> counts;
+
+    public UnreadCounters(ConversationSummaryRepository summaryRepository,
+                          NotificationDispatcher notificationDispatcher,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.messaging.unread.max-size:50000}") long maxSize,
+                          @Value("${app.messaging.unread.ttl:30m}") Duration ttl) {
+        this.summaryRepository = summaryRepository;
+        this.notificationDispatcher = notificationDispatcher;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "unread");
+    }
+
+    public UnreadCountResponse get(Long userId) {
+        return response(counts.get(userId, this::load));
+    }
+
+    /**
+     * Applies the user's new unread count for each other user once the current transaction commits, then
+     * pushes the badge if the user's counts are cached. Nothing changes if the transaction rolls back.
+     */
+    public void update(Long userId, Map<Long, UnreadCount> unreadByOtherUser) {
+        if (unreadByOtherUser.isEmpty()) {
+            return;
+        }
+        Map<Long, Unread> changes = new HashMap<>();
+        unreadByOtherUser.forEach((otherUserId, unread) ->
+                changes.put(otherUserId, new Unread(unread.getUnreadCount(), unread.getUnreadVersion())));
+        TransactionHooks.afterCommit(() -> {
+            Map<Long, Unread> next = counts.asMap().computeIfPresent(userId, (id, current) -> apply(current, changes));
+            if (next != null) {
+                notificationDispatcher.convertAndSendToUser(userId.toString(), DESTINATION, response(next));
+            }
+        });
+    }
+
+    public void update(Long userId, Long otherUserId, UnreadCount unread) {
+        update(userId, Map.of(otherUserId, unread));
+    }
+
+    private Map<Long, Unread> load(Long userId) {
+        return summaryRepository.findByOwnerId(userId).stream()
+                .collect(Collectors.toUnmodifiableMap(ConversationSummary::getOtherUserId,
+                        summary -> new Unread(summary.getUnreadCount(), summary.getUnreadVersion())));
+    }
+
+    private static Map<Long, Unread> apply(Map<Long, Unread> current, Map<Long, Unread> changes) {
+        Map<Long, Unread> next = new HashMap<>(current);
+        changes.forEach((otherUserId, unread) -> next.merge(otherUserId, unread,
+                (seen, incoming) -> incoming.version() > seen.version() ? incoming : seen));
+        return Map.copyOf(next);
+    }
+
+    private static UnreadCountResponse response(Map<Long, Unread> byUser) {
+        Map<Long, Integer> conversations = new HashMap<>();
+        byUser.forEach((otherUserId, unread) -> {
+            if (unread.count() > 0) {
+                conversations.put(otherUserId, unread.count());
+            }
+        });
+        return new UnreadCountResponse(conversations.values().stream().mapToInt(Integer::intValue).sum(),
+                Map.copyOf(conversations));
+    }
+
+    private record Unread(int count, long version) {
+    }
+}
@@ -0,0 +1,226 @@
+package com.roomfinder.service.stats;
+
+import com.roomfinder.entity.Room;
+import com.roomfinder.repository.RoomRepository;
+import com.roomfinder.service.index.RoomIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Room counts and price sums kept in memory, overall, per city and per price bucket.
+ * Every room write applies the difference between the room's previous and new state, so the dashboard
+ * statistics are read without touching the database. A periodic scan rebuilds the totals from the rooms
+ * table to correct drift; writes that land during the scan are replayed onto the rebuilt totals.
+ */
+@Component
+public class RoomStatsAggregator implements RoomIndex {
+    private static final Logger logger = LoggerFactory.getLogger(RoomStatsAggregator.class);
+
+    static final String[] PRICE_RANGES = {"0-5000", "5000-10000", "10000-15000", "15000-20000", "20000+"};
+
+    private final RoomRepository roomRepository;
+
+    // Writers share the read lock; a reconcile takes the write lock only to swap in the rebuilt totals
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile Totals totals = new Totals();
+    private volatile Map<Long, RoomState> pendingDuringReconcile;
+    private volatile boolean ready;
+
+    record RoomState(String city, double price, boolean available, boolean removed) {
+
+        static RoomState of(Room room) {
+            return new RoomState(room.getCity(), room.getPrice(), room.isAvailable(), false);
+        }
+
+        static RoomState removedState() {
+            return new RoomState(null, 0, false, true);
+        }
+    }
+
+    static final class CityTotals {
+        final LongAdder count = new LongAdder();
+        final DoubleAdder priceSum = new DoubleAdder();
+    }
+
+    static final class Totals {
+        final Map<Long, RoomState> rooms = new ConcurrentHashMap<>();
+        final LongAdder total = new LongAdder();
+        final LongAdder available = new LongAdder();
+        final DoubleAdder priceSum = new DoubleAdder();
+        final Map<String, CityTotals> cities = new ConcurrentHashMap<>();
+        final LongAdder[] priceBuckets = new LongAdder[PRICE_RANGES.length];
+
+        Totals() {
+            for (int i = 0; i < priceBuckets.length; i++) {
+                priceBuckets[i] = new LongAdder();
+            }
+        }
+
+        void apply(Long roomId, RoomState state) {
+            RoomState previous = state.removed() ? rooms.remove(roomId) : rooms.put(roomId, state);
+            if (previous != null) {
+                add(previous, -1);
+            }
+            if (!state.removed()) {
+                add(state, 1);
+            }
+        }
+
+        private void add(RoomState state, int sign) {
+            total.add(sign);
+            if (state.available()) {
+                available.add(sign);
+            }
+            priceSum.add(sign * state.price());
+            CityTotals city = cities.computeIfAbsent(String.valueOf(state.city()), c -> new CityTotals());
+            city.count.add(sign);
+            city.priceSum.add(sign * state.price());
+            priceBuckets[bucketOf(state.price())].add(sign);
+        }
+    }
+
+    public RoomStatsAggregator(RoomRepository roomRepository) {
+        this.roomRepository = roomRepository;
+    }
+
+    @Override
+    public void index(Room room) {
+        apply(room.getId(), RoomState.of(room));
+    }
+
+    @Override
+    public void remove(Long roomId) {
+        apply(roomId, RoomState.removedState());
+    }
+
+    @Override
+    public void clear() {
+        swapLock.writeLock().lock();
+        try {
+            totals = new Totals();
+            ready = false;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuildComplete() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long totalRooms() {
+        return Math.max(0, totals.total.sum());
+    }
+
+    public long availableRooms() {
+        return Math.max(0, totals.available.sum());
+    }
+
+    public long occupiedRooms() {
+        return Math.max(0, totals.total.sum() - totals.available.sum());
+    }
+
+    public double averagePrice() {
+        Totals current = totals;
+        long count = current.total.sum();
+        return count <= 0 ? 0 : current.priceSum.sum() / count;
+    }
+
+    /**
+     * Room count per price range, in ascending range order.
+     */
+    public Map<String, Long> priceRangeDistribution() {
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        LongAdder[] buckets = totals.priceBuckets;
+        for (int i = 0; i < PRICE_RANGES.length; i++) {
+            distribution.put(PRICE_RANGES[i], buckets[i].sum());
+        }
+        return distribution;
+    }
+
+    /**
+     * Room count per city, largest first.
+     */
+    public Map<String, Long> cityDistribution() {
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        totals.cities.entrySet().stream()
+                .filter(e -> e.getValue().count.sum() > 0)
+                .sorted(Comparator.comparingLong((Map.Entry<String, CityTotals> e) -> e.getValue().count.sum()).reversed())
+                .forEach(e -> distribution.put(e.getKey(), e.getValue().count.sum()));
+        return distribution;
+    }
+
+    /**
+     * Rebuilds the totals from the rooms table. Writes applied meanwhile are recorded and replayed onto the
+     * rebuilt totals before they replace the live ones; replaying is harmless when the scan already saw them.
+     */
+    @Scheduled(initialDelayString = "${app.stats.reconcile-interval:PT15M}",
+            fixedDelayString = "${app.stats.reconcile-interval:PT15M}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        if (!ready) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Map<Long, RoomState> pending = new ConcurrentHashMap<>();
+        pendingDuringReconcile = pending;
+
+        Totals rebuilt = new Totals();
+        try (Stream<Object[]> rows = roomRepository.streamStatsRows()) {
+            rows.forEach(row -> rebuilt.apply((Long) row[0],
+                    new RoomState((String) row[1], (Double) row[2], (Boolean) row[3], false)));
+        } catch (RuntimeException e) {
+            pendingDuringReconcile = null;
+            throw e;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            pending.forEach(rebuilt::apply);
+            long drift = totals.total.sum() - rebuilt.total.sum();
+            totals = rebuilt;
+            pendingDuringReconcile = null;
+            logger.info("Reconciled room statistics for {} rooms in {} ms (count drift {})",
+                    rebuilt.total.sum(), System.currentTimeMillis() - start, drift);
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Long roomId, RoomState state) {
+        swapLock.readLock().lock();
+        try {
+            totals.apply(roomId, state);
+            Map<Long, RoomState> pending = pendingDuringReconcile;
+            if (pending != null) {
+                pending.put(roomId, state);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    static int bucketOf(double price) {
+        if (price < 5000) {
+            return 0;
+        }
+        return (int) Math.min(PRICE_RANGES.length - 1, Math.floor(price / 5000));
+    }
+}
@@ -0,0 +1,60 @@
+package com.roomfinder.utils;
+
+import com.roomfinder.exceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque, URL-safe cursor strings.
+ */
+public final class CursorCodec {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private CursorCodec() {
+    }
+
+    public record TimeCursor(LocalDateTime timestamp, Long id) {
+    }
+
+    public static String encode(Long id) {
+        return encodeRaw(String.valueOf(id));
+    }
+
+    public static String encode(LocalDateTime timestamp, Long id) {
+        return encodeRaw(timestamp + "|" + id);
+    }
+
+    public static Long decodeId(String cursor) {
+        try {
+            return Long.parseLong(decodeRaw(cursor));
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid cursor", e);
+        }
+    }
+
+    public static TimeCursor decodeTimeCursor(String cursor) {
+        try {
+            String[] parts = decodeRaw(cursor).split("\\|");
+            return new TimeCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid cursor", e);
+        }
+    }
+
+    public static void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private static String encodeRaw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeRaw(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,28 @@
+package com.roomfinder.utils;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * City and amenity normalization shared by the in-memory room indexes and the database search, so both
+ * paths agree on which rooms match a filter.
+ */
+public final class RoomAttributes {
+
+    // Amenity values that mean the room does not actually offer it
+    public static final Set<String> ABSENT_AMENITY_VALUES = Set.of("", "no", "false", "none", "0", "n/a", "unavailable");
+
+    private RoomAttributes() {
+    }
+
+    /**
+     * Trimmed, lower-cased form used to compare cities and amenity names; {@code null} becomes empty.
+     */
+    public static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static boolean offersAmenity(String value) {
+        return !ABSENT_AMENITY_VALUES.contains(normalize(value));
+    }
+}
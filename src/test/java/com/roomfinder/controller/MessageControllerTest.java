@@ -2,6 +2,7 @@ package com.roomfinder.controller;
 
 import com.roomfinder.dto.request.MessageRequest;
 import com.roomfinder.dto.response.ApiResponse;
+import com.roomfinder.dto.response.CursorPage;
 import com.roomfinder.entity.Message;
 import com.roomfinder.entity.User;
 import com.roomfinder.service.MessageService;
@@ -124,32 +125,32 @@ class MessageControllerTest {
 
     @Test
     void getRoomMessages_Success() {
-        List<Message> messages = Arrays.asList(testMessage);
+        CursorPage<Message> messages = new CursorPage<>(Arrays.asList(testMessage), null, false);
         when(userService.getUserByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(messageService.getRoomMessages(1L, 1L)).thenReturn(messages);
+        when(messageService.getRoomMessages(1L, 1L, null, null, 50)).thenReturn(messages);
 
-        ResponseEntity<ApiResponse> response = messageController.getRoomMessages(userDetails, 1L);
+        ResponseEntity<ApiResponse> response = messageController.getRoomMessages(userDetails, 1L, null, null, 50);
 
         assertTrue(response.getStatusCode().is2xxSuccessful());
         assertTrue(response.getBody().isSuccess());
         assertEquals("Messages retrieved successfully", response.getBody().getMessage());
         assertNotNull(response.getBody().getData());
-        verify(messageService).getRoomMessages(1L, 1L);
+        verify(messageService).getRoomMessages(1L, 1L, null, null, 50);
     }
 
     @Test
     void getConversation_Success() {
-        List<Message> messages = Arrays.asList(testMessage);
+        CursorPage<Message> messages = new CursorPage<>(Arrays.asList(testMessage), null, false);
         when(userService.getUserByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(messageService.getConversation(2L, 1L)).thenReturn(messages);
+        when(messageService.getConversation(2L, 1L, null, null, 50)).thenReturn(messages);
 
-        ResponseEntity<ApiResponse> response = messageController.getConversation(userDetails, 2L);
+        ResponseEntity<ApiResponse> response = messageController.getConversation(userDetails, 2L, null, null, 50);
 
         assertTrue(response.getStatusCode().is2xxSuccessful());
         assertTrue(response.getBody().isSuccess());
         assertEquals("Conversation retrieved successfully", response.getBody().getMessage());
         assertNotNull(response.getBody().getData());
-        verify(messageService).getConversation(2L, 1L);
+        verify(messageService).getConversation(2L, 1L, null, null, 50);
     }
 
     @Test
@@ -0,0 +1,63 @@
+package com.roomfinder.fixtures;
+
+import com.roomfinder.entity.Room;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds detached {@link Room} entities for unit tests: {@code room(1L).city("Kathmandu").price(8000).build()}.
+ * Fields not set keep the entity's defaults, so a room is available unless {@link #available(boolean)} says otherwise.
+ */
+public final class RoomFixture {
+
+    private final Room room = new Room();
+
+    private RoomFixture(Long id) {
+        room.setId(id);
+    }
+
+    public static RoomFixture room(Long id) {
+        return new RoomFixture(id);
+    }
+
+    public RoomFixture title(String title) {
+        room.setTitle(title);
+        return this;
+    }
+
+    public RoomFixture address(String address) {
+        room.setAddress(address);
+        return this;
+    }
+
+    public RoomFixture city(String city) {
+        room.setCity(city);
+        return this;
+    }
+
+    public RoomFixture price(double price) {
+        room.setPrice(price);
+        return this;
+    }
+
+    public RoomFixture location(Double latitude, Double longitude) {
+        room.setLatitude(latitude);
+        room.setLongitude(longitude);
+        return this;
+    }
+
+    public RoomFixture amenities(Map<String, String> amenities) {
+        room.setAmenities(new HashMap<>(amenities));
+        return this;
+    }
+
+    public RoomFixture available(boolean available) {
+        room.setAvailable(available);
+        return this;
+    }
+
+    public Room build() {
+        return room;
+    }
+}
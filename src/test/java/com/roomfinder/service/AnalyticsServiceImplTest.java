@@ -0,0 +1,78 @@
+package com.roomfinder.service;
+
+import com.roomfinder.dto.response.OccupancyReportResponse;
+import com.roomfinder.dto.response.OccupancyStatResponse;
+import com.roomfinder.exceptions.ValidationException;
+import com.roomfinder.repository.RoomOccupancyRepository;
+import com.roomfinder.repository.RoomRepository;
+import com.roomfinder.service.impl.AnalyticsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AnalyticsServiceImplTest {
+
+    @InjectMocks
+    private AnalyticsServiceImpl analyticsService;
+
+    @Mock
+    private RoomOccupancyRepository occupancyRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void getLandlordOccupancy_RollsRoomMonthsUpByCityAndMonth() {
+        YearMonth january = YearMonth.of(2030, 1);
+        YearMonth february = january.plusMonths(1);
+        when(roomRepository.countRoomsByCityForLandlord(1L)).thenReturn(List.of(
+                new Object[]{"Kathmandu", 2L},
+                new Object[]{"Pokhara", 1L}));
+        when(occupancyRepository.findLandlordMonths(1L, january.atDay(1), february.atDay(1))).thenReturn(List.of(
+                new Object[]{10L, "Flat", "Kathmandu", 100.0, LocalDate.of(2030, 1, 1), 31},
+                new Object[]{11L, "Studio", "Kathmandu", 50.0, LocalDate.of(2030, 1, 1), 10},
+                new Object[]{12L, "Loft", "Pokhara", 80.0, LocalDate.of(2030, 2, 1), 14}));
+
+        OccupancyReportResponse report = analyticsService.getLandlordOccupancy(1L, january, february);
+
+        assertEquals(3, report.getRooms().size());
+        assertEquals(List.of("2030-01", "2030-02"), report.getMonths().stream().map(OccupancyStatResponse::getMonth).toList());
+        OccupancyStatResponse januaryTotal = report.getMonths().get(0);
+        assertEquals(41, januaryTotal.getBookedDays());
+        assertEquals(3 * 31, januaryTotal.getAvailableDays());
+        assertEquals(3600.0, januaryTotal.getProjectedRevenue());
+
+        // Every city gets a row for every month, booked or not
+        assertEquals(4, report.getCities().size());
+        OccupancyStatResponse kathmanduJanuary = report.getCities().get(0);
+        assertEquals("Kathmandu", kathmanduJanuary.getCity());
+        assertEquals(41.0 / 62, kathmanduJanuary.getOccupancyRate(), 1e-9);
+        OccupancyStatResponse pokharaJanuary = report.getCities().get(2);
+        assertEquals("Pokhara", pokharaJanuary.getCity());
+        assertEquals(0, pokharaJanuary.getBookedDays());
+        assertEquals(0.5, report.getCities().get(3).getOccupancyRate(), 1e-9);
+    }
+
+    @Test
+    void getLandlordOccupancy_RejectsRangesOverTwoYears() {
+        YearMonth from = YearMonth.of(2030, 1);
+
+        assertThrows(ValidationException.class, () -> analyticsService.getLandlordOccupancy(1L, from, from.plusMonths(24)));
+        assertThrows(ValidationException.class, () -> analyticsService.getLandlordOccupancy(1L, from, from.minusMonths(1)));
+        verifyNoInteractions(occupancyRepository);
+    }
+}
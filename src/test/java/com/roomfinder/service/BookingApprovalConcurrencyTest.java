@@ -0,0 +1,166 @@
+package com.roomfinder.service;
+
+import com.roomfinder.entity.Booking;
+import com.roomfinder.entity.Room;
+import com.roomfinder.entity.User;
+import com.roomfinder.enums.BookingStatus;
+import com.roomfinder.enums.UserRole;
+import com.roomfinder.exceptions.InvalidBookingException;
+import com.roomfinder.repository.BookingRepository;
+import com.roomfinder.repository.RoomRepository;
+import com.roomfinder.repository.UserRepository;
+import com.roomfinder.service.index.BookingIndexes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingApprovalConcurrencyTest {
+
+    private static final int ROOMS = 5;
+    private static final int BOOKINGS_PER_ROOM = 50;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingIndexes bookingIndexes;
+
+    private User landlord;
+    private final List<Room> rooms = new ArrayList<>();
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Overlapping requests on a few rooms, so most approvals race another one for the same days
+        Random random = new Random(42);
+        landlord = userRepository.save(User.builder()
+                .username("concurrency-landlord")
+                .password("password123")
+                .email("concurrency-landlord@example.com")
+                .fullName("Concurrency Landlord")
+                .phoneNumber("9800000000")
+                .role(UserRole.LANDLORD)
+                .isActive(true)
+                .build());
+        LocalDate start = LocalDate.now().plusDays(30);
+        for (int r = 0; r < ROOMS; r++) {
+            Room room = new Room();
+            room.setLandlordId(landlord.getId());
+            room.setTitle("Concurrency room " + r);
+            room.setAddress("Street " + r);
+            room.setCity("Test City");
+            rooms.add(roomRepository.save(room));
+
+            for (int b = 0; b < BOOKINGS_PER_ROOM; b++) {
+                Booking booking = new Booking();
+                booking.setRoomId(room.getId());
+                booking.setSeekerId(100L + b);
+                booking.setStartDate(start.plusDays(random.nextInt(60)));
+                booking.setEndDate(booking.getStartDate().plusDays(2 + random.nextInt(15)));
+                bookings.add(booking);
+            }
+        }
+        bookingRepository.saveAll(bookings);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookings.forEach(booking -> bookingIndexes.remove(booking.getId()));
+        // The approvals bumped the versions, so delete by id rather than with the stale entities
+        bookingRepository.deleteAllById(bookings.stream().map(Booking::getId).toList());
+        // Approvals also wrote monthly occupancy rollups for the rooms
+        rooms.forEach(room -> jdbcTemplate.update("DELETE FROM room_occupancy_monthly WHERE room_id = ?", room.getId()));
+        roomRepository.deleteAllById(rooms.stream().map(Room::getId).toList());
+        userRepository.deleteById(landlord.getId());
+    }
+
+    @Test
+    void approveBooking_500ConcurrentApprovals_NeverDoubleBooksARoom() throws Exception {
+        // Arrange: every booking is approved twice, as if the landlord double-clicked
+        List<Long> approvals = new ArrayList<>();
+        bookings.forEach(booking -> {
+            approvals.add(booking.getId());
+            approvals.add(booking.getId());
+        });
+        Collections.shuffle(approvals, new Random(7));
+        assertEquals(500, approvals.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        // Act
+        for (Long bookingId : approvals) {
+            executor.submit(() -> {
+                try {
+                    startSignal.await();
+                    bookingService.approveBooking(bookingId, landlord.getId());
+                    succeeded.incrementAndGet();
+                } catch (InvalidBookingException expected) {
+                    // Overlaps an approved booking, or was already approved by the other click
+                } catch (Throwable t) {
+                    unexpected.add(t);
+                }
+            });
+        }
+        startSignal.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+
+        // Assert
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        int approved = 0;
+        for (Room room : rooms) {
+            List<Booking> roomApproved = bookingRepository.findAllById(
+                            bookings.stream().filter(b -> b.getRoomId().equals(room.getId())).map(Booking::getId).toList())
+                    .stream()
+                    .filter(b -> b.getStatus() == BookingStatus.APPROVED)
+                    .toList();
+            assertFalse(roomApproved.isEmpty());
+            for (int i = 0; i < roomApproved.size(); i++) {
+                for (int j = i + 1; j < roomApproved.size(); j++) {
+                    Booking a = roomApproved.get(i);
+                    Booking b = roomApproved.get(j);
+                    assertFalse(!a.getStartDate().isAfter(b.getEndDate()) && !b.getStartDate().isAfter(a.getEndDate()),
+                            () -> "Bookings " + a.getId() + " and " + b.getId() + " overlap");
+                }
+            }
+            approved += roomApproved.size();
+        }
+        assertEquals(approved, succeeded.get());
+    }
+}
@@ -0,0 +1,154 @@
+package com.roomfinder.service;
+
+import com.roomfinder.dto.request.BookingSearchCriteria;
+import com.roomfinder.entity.Room;
+import com.roomfinder.enums.BookingStatus;
+import com.roomfinder.repository.BookingRepository;
+import com.roomfinder.repository.BookingSpecifications;
+import com.roomfinder.repository.RoomRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the plans Postgres picks for the SQL the booking search actually generates. Criteria values are
+ * rendered inline so the captured statement can be explained as it would run.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.roomfinder.service.BookingSearchPlanTest$CapturingInspector"
+})
+@ActiveProfiles("test")
+@Transactional
+class BookingSearchPlanTest {
+
+    private static final int ROOMS = 200;
+    private static final int BOOKINGS_PER_ROOM = 60;
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Room> rooms = new ArrayList<>();
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Enough rows spread over rooms, seekers, statuses and dates for the planner to prefer indexes
+        Random random = new Random(42);
+        for (int r = 0; r < ROOMS; r++) {
+            Room room = new Room();
+            room.setLandlordId(900_000L + r % 20);
+            room.setTitle("Plan room " + r);
+            room.setAddress("Street " + r);
+            room.setCity("Plan City");
+            rooms.add(room);
+        }
+        roomRepository.saveAllAndFlush(rooms);
+
+        List<Object[]> bookings = new ArrayList<>();
+        LocalDate origin = LocalDate.of(2030, 1, 1);
+        for (Room room : rooms) {
+            for (int b = 0; b < BOOKINGS_PER_ROOM; b++) {
+                LocalDate start = origin.plusDays(random.nextInt(1000));
+                bookings.add(new Object[]{room.getId(), 900_000L + random.nextInt(3000), Date.valueOf(start),
+                        Date.valueOf(start.plusDays(1 + random.nextInt(20))), STATUSES[random.nextInt(STATUSES.length)].name()});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (room_id, seeker_id, start_date, end_date, status, booking_date, version) " +
+                "VALUES (?, ?, ?, ?, ?, now(), 0)", bookings);
+        jdbcTemplate.execute("ANALYZE bookings");
+        jdbcTemplate.execute("ANALYZE rooms");
+    }
+
+    @Test
+    void search_RoomStatusAndStartDate_UsesRoomStatusStartDateIndex() {
+        String plan = plan(BookingSearchCriteria.builder()
+                .roomId(rooms.get(7).getId())
+                .status(BookingStatus.APPROVED)
+                .startDateFrom(LocalDate.of(2030, 6, 1))
+                .build());
+
+        assertUsesIndex(plan, "idx_bookings_room_status_start_date");
+    }
+
+    @Test
+    void search_SeekerAndStatus_UsesSeekerStatusIndex() {
+        String plan = plan(BookingSearchCriteria.builder()
+                .seekerId(900_010L)
+                .status(BookingStatus.PENDING)
+                .build());
+
+        assertUsesIndex(plan, "idx_bookings_seeker_status");
+    }
+
+    @Test
+    void search_StatusAndStartDateRange_UsesStatusStartDateIndex() {
+        String plan = plan(BookingSearchCriteria.builder()
+                .status(BookingStatus.PENDING)
+                .startDateFrom(LocalDate.of(2030, 6, 1))
+                .startDateTo(LocalDate.of(2030, 6, 7))
+                .build());
+
+        assertUsesIndex(plan, "idx_bookings_status_start_date");
+    }
+
+    @Test
+    void search_LandlordAndStatus_ProbesRoomStatusStartDateIndexPerRoom() {
+        String plan = plan(BookingSearchCriteria.builder()
+                .landlordId(900_003L)
+                .status(BookingStatus.APPROVED)
+                .build());
+
+        assertUsesIndex(plan, "idx_bookings_room_status_start_date");
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        assertFalse(plan.contains("Seq Scan on bookings"), plan);
+        assertTrue(plan.contains(" " + index + " "), plan);
+    }
+
+    private String plan(BookingSearchCriteria criteria) {
+        CapturingInspector.STATEMENTS.clear();
+        bookingRepository.findAll(BookingSpecifications.matching(criteria),
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id")));
+        String sql = CapturingInspector.STATEMENTS.stream()
+                .filter(statement -> statement.contains("order by"))
+                .findFirst()
+                .orElseThrow();
+        // Only the page offset and size are still bind parameters
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql.replace("?", "20"), String.class));
+    }
+}
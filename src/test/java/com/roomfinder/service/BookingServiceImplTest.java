@@ -1,21 +1,41 @@
 package com.roomfinder.service;
 
 import com.roomfinder.dto.request.BookingRequest;
+import com.roomfinder.dto.response.BatchBookingResponse;
+import com.roomfinder.dto.response.BookingCalendarResponse;
+import com.roomfinder.dto.response.BookingActionResult;
+import com.roomfinder.dto.response.CursorPage;
 import com.roomfinder.entity.Booking;
+import com.roomfinder.enums.BookingAction;
 import com.roomfinder.enums.BookingStatus;
 import com.roomfinder.exceptions.BookingNotFoundException;
 import com.roomfinder.exceptions.InvalidBookingException;
+import com.roomfinder.exceptions.ValidationException;
 import com.roomfinder.repository.BookingRepository;
 import com.roomfinder.service.RoomService;
+import com.roomfinder.service.analytics.OccupancyRollup;
 import com.roomfinder.service.impl.BookingServiceImpl;
+import com.roomfinder.service.index.BookingIndexes;
+import com.roomfinder.service.index.BookingIntervalIndex;
+import com.roomfinder.service.index.OccupancyCalendar;
+import com.roomfinder.service.lock.RoomLocks;
+import com.roomfinder.utils.CursorCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.time.LocalDate;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,6 +51,21 @@ class BookingServiceImplTest {
     @Mock
     private RoomService roomService;
 
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    private OccupancyCalendar occupancyCalendar;
+
+    @Mock
+    private BookingIndexes bookingIndexes;
+
+    @Mock
+    private RoomLocks roomLocks;
+
+    @Mock
+    private OccupancyRollup occupancyRollup;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -47,7 +82,7 @@ class BookingServiceImplTest {
         Booking savedBooking = new Booking();
         savedBooking.setId(1L);
 
-        when(bookingRepository.findOverlappingBookings(anyLong(), any(), any())).thenReturn(List.of());
+        when(bookingRepository.existsOverlappingApprovedBooking(anyLong(), any(), any())).thenReturn(false);
         when(bookingRepository.save(any())).thenReturn(savedBooking);
 
         Booking booking = bookingService.createBooking(request, 1L);
@@ -66,6 +101,7 @@ class BookingServiceImplTest {
         booking.setEndDate(LocalDate.now().plusDays(3));
         booking.setStatus(BookingStatus.PENDING);
 
+        when(bookingRepository.findRoomIdById(1L)).thenReturn(Optional.of(1L));
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
         when(roomService.isRoomOwner(anyLong(), anyLong())).thenReturn(true);
         when(bookingRepository.save(any())).thenReturn(booking);
@@ -74,6 +110,29 @@ class BookingServiceImplTest {
 
         assertEquals(BookingStatus.APPROVED, approvedBooking.getStatus());
         verify(bookingRepository, times(1)).save(any());
+        verify(occupancyRollup).refresh(List.of(1L));
+    }
+
+    @Test
+    void approveBooking_LocksRoomBeforeLoadingBooking() {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setRoomId(7L);
+        booking.setStartDate(LocalDate.now().plusDays(1));
+        booking.setEndDate(LocalDate.now().plusDays(3));
+        booking.setStatus(BookingStatus.PENDING);
+
+        when(bookingRepository.findRoomIdById(1L)).thenReturn(Optional.of(7L));
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(roomService.isRoomOwner(7L, 1L)).thenReturn(true);
+        when(bookingRepository.existsOverlappingApprovedBooking(7L, booking.getStartDate(), booking.getEndDate()))
+                .thenReturn(true);
+
+        assertThrows(InvalidBookingException.class, () -> bookingService.approveBooking(1L, 1L));
+        InOrder inOrder = inOrder(roomLocks, bookingRepository);
+        inOrder.verify(roomLocks).lockForTransaction(7L);
+        inOrder.verify(bookingRepository).findById(1L);
+        verify(bookingRepository, never()).save(any());
     }
 
     @Test
@@ -125,4 +184,171 @@ class BookingServiceImplTest {
         assertEquals(request.getStartDate(), updatedBooking.getStartDate());
         assertEquals(request.getEndDate(), updatedBooking.getEndDate());
     }
+
+    @Test
+    void scrollBookingsByLandlord_MoreRowsThanSize_ReturnsCursorToLastRow() {
+        Booking b3 = new Booking();
+        b3.setId(3L);
+        Booking b2 = new Booking();
+        b2.setId(2L);
+        Booking b1 = new Booking();
+        b1.setId(1L);
+
+        when(bookingRepository.findByLandlordIdAndIdLessThan(1L, Long.MAX_VALUE, Limit.of(3)))
+                .thenReturn(List.of(b3, b2, b1));
+
+        CursorPage<Booking> page = bookingService.scrollBookingsByLandlord(1L, null, 2);
+
+        assertEquals(List.of(b3, b2), page.getContent());
+        assertTrue(page.isHasNext());
+        assertEquals(2L, CursorCodec.decodeId(page.getNextCursor()));
+    }
+
+    @Test
+    void scrollBookingsBySeeker_InvalidCursor_ThrowsException() {
+        assertThrows(ValidationException.class, () -> bookingService.scrollBookingsBySeeker(1L, "%%", 10));
+        assertThrows(ValidationException.class, () -> bookingService.scrollBookingsBySeeker(1L, null, 500));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void approveBooking_OverlapsApprovedBooking_ThrowsException() {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setRoomId(1L);
+        booking.setStartDate(LocalDate.now().plusDays(1));
+        booking.setEndDate(LocalDate.now().plusDays(3));
+        booking.setStatus(BookingStatus.PENDING);
+
+        when(bookingRepository.findRoomIdById(1L)).thenReturn(Optional.of(1L));
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(roomService.isRoomOwner(anyLong(), anyLong())).thenReturn(true);
+        when(bookingIntervalIndex.isReady()).thenReturn(true);
+        when(bookingIntervalIndex.overlaps(1L, booking.getStartDate(), booking.getEndDate())).thenReturn(true);
+
+        assertThrows(InvalidBookingException.class, () -> bookingService.approveBooking(1L, 1L));
+        verify(bookingRepository, never()).existsOverlappingApprovedBooking(anyLong(), any(), any());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void approveBooking_IndexStillLoading_AsksDatabaseOnce() {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setRoomId(1L);
+        booking.setStartDate(LocalDate.now().plusDays(1));
+        booking.setEndDate(LocalDate.now().plusDays(3));
+        booking.setStatus(BookingStatus.PENDING);
+
+        when(bookingRepository.findRoomIdById(1L)).thenReturn(Optional.of(1L));
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(roomService.isRoomOwner(anyLong(), anyLong())).thenReturn(true);
+        when(bookingIntervalIndex.isReady()).thenReturn(false);
+        when(bookingRepository.save(booking)).thenReturn(booking);
+
+        bookingService.approveBooking(1L, 1L);
+
+        verify(bookingRepository, times(1)).existsOverlappingApprovedBooking(1L, booking.getStartDate(), booking.getEndDate());
+        verify(bookingIntervalIndex, never()).overlaps(anyLong(), any(), any());
+        assertEquals(BookingStatus.APPROVED, booking.getStatus());
+    }
+
+    @Test
+    void applyBatch_Approve_ChecksOwnershipAndOverlapsWithinTheBatch() {
+        LocalDate start = LocalDate.now().plusDays(1);
+        Booking first = pendingBooking(1L, 10L, start, start.plusDays(3));
+        Booking overlapping = pendingBooking(2L, 10L, start.plusDays(2), start.plusDays(5));
+        Booking otherLandlord = pendingBooking(3L, 20L, start, start.plusDays(1));
+        List<Long> ids = List.of(1L, 2L, 3L, 4L);
+
+        when(bookingRepository.findRoomIdsByIdIn(ids)).thenReturn(List.of(10L, 20L));
+        when(bookingRepository.findAllById(ids)).thenReturn(List.of(first, overlapping, otherLandlord));
+        when(roomService.findOwnedRoomIds(anyCollection(), eq(1L))).thenReturn(Set.of(10L));
+        when(bookingRepository.findApprovedBookingsOverlapping(anyCollection(), any(), any())).thenReturn(List.of());
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchBookingResponse response = bookingService.applyBatch(BookingAction.APPROVE, ids, 1L);
+
+        assertEquals(1, response.getSucceeded());
+        assertEquals(3, response.getFailed());
+        assertEquals(List.of(true, false, false, false),
+                response.getResults().stream().map(BookingActionResult::isSuccess).toList());
+        assertEquals(BookingStatus.APPROVED, first.getStatus());
+        assertEquals(BookingStatus.PENDING, overlapping.getStatus());
+        verify(roomLocks).lockAllForTransaction(List.of(10L, 20L));
+        verify(roomService).setAvailability(Set.of(10L), 1L, false);
+        verify(bookingRepository).saveAll(List.of(first));
+        verify(occupancyRollup).refresh(Set.of(10L));
+    }
+
+    @Test
+    void cancelBooking_OnlyApprovedBookingsRefreshOccupancy() {
+        Booking pending = pendingBooking(1L, 10L, LocalDate.now().plusDays(1), LocalDate.now().plusDays(3));
+        Booking approved = pendingBooking(2L, 20L, LocalDate.now().plusDays(1), LocalDate.now().plusDays(3));
+        approved.setStatus(BookingStatus.APPROVED);
+
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(pending));
+        when(bookingRepository.findById(2L)).thenReturn(Optional.of(approved));
+        when(bookingRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        bookingService.cancelBooking(1L, 5L);
+        bookingService.cancelBooking(2L, 5L);
+
+        assertEquals(BookingStatus.CANCELLED, approved.getStatus());
+        verify(occupancyRollup, never()).refresh(List.of(10L));
+        verify(occupancyRollup).refresh(List.of(20L));
+    }
+
+    @Test
+    void getRoomCalendar_EncodesBookedDaysAsRunsOrBitmap() {
+        LocalDate from = LocalDate.of(2030, 3, 1);
+        BitSet booked = new BitSet();
+        booked.set(0, 3);
+        booked.set(9);
+        when(occupancyCalendar.isReady()).thenReturn(true);
+        when(occupancyCalendar.bookedDays(7L, from, from.plusDays(30))).thenReturn(booked);
+
+        BookingCalendarResponse runs = bookingService.getRoomCalendar(7L, from, from.plusDays(30), "runs");
+        BookingCalendarResponse bitmap = bookingService.getRoomCalendar(7L, from, from.plusDays(30), "BITMAP");
+
+        assertArrayEquals(new int[]{0, 3, 9, 1}, runs.getRuns());
+        assertNull(runs.getBitmap());
+        assertArrayEquals(new byte[]{0b111, 0b10}, Base64.getDecoder().decode(bitmap.getBitmap()));
+        assertNull(bitmap.getRuns());
+        verify(bookingRepository, never()).findApprovedBookingsOverlapping(anyCollection(), any(), any());
+    }
+
+    @Test
+    void getRoomCalendar_BeforeCalendarLoads_ClipsApprovedBookingsFromTheDatabase() {
+        LocalDate from = LocalDate.of(2030, 3, 1);
+        Booking booking = pendingBooking(1L, 7L, from.minusDays(5), from.plusDays(1));
+        when(bookingRepository.findApprovedBookingsOverlapping(List.of(7L), from, from.plusDays(9))).thenReturn(List.of(booking));
+
+        BookingCalendarResponse calendar = bookingService.getRoomCalendar(7L, from, from.plusDays(9), "runs");
+
+        assertArrayEquals(new int[]{0, 2}, calendar.getRuns());
+        assertThrows(ValidationException.class, () -> bookingService.getRoomCalendar(7L, from, from.plusDays(800), "runs"));
+        assertThrows(ValidationException.class, () -> bookingService.getRoomCalendar(7L, from, from, "png"));
+    }
+
+    @Test
+    void getBookingsByLandlordAndStatus_QueriesByLandlordWithoutLoadingRoomIds() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Booking> page = new PageImpl<>(List.of(new Booking()), pageable, 1);
+        when(bookingRepository.findByLandlordIdAndStatus(1L, BookingStatus.PENDING, pageable)).thenReturn(page);
+
+        assertSame(page, bookingService.getBookingsByLandlordAndStatus(1L, BookingStatus.PENDING, pageable));
+        verify(roomService, never()).getRoomIdsByLandlordId(anyLong());
+    }
+
+    private Booking pendingBooking(Long id, Long roomId, LocalDate start, LocalDate end) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setRoomId(roomId);
+        booking.setSeekerId(5L);
+        booking.setStartDate(start);
+        booking.setEndDate(end);
+        booking.setStatus(BookingStatus.PENDING);
+        return booking;
+    }
 }
@@ -0,0 +1,137 @@
+package com.roomfinder.service;
+
+import com.roomfinder.entity.Booking;
+import com.roomfinder.repository.BookingRepository;
+import com.roomfinder.repository.RoomRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * One page of a landlord's bookings plus the total, read through the old room-id IN list and through the
+ * join on rooms, for landlords with 10, 1,000 and 20,000 rooms. Each room has three bookings, and rooms and
+ * bookings of all landlords are interleaved, so neither filter sees a contiguous id range.
+ * Run with {@code mvn test -Pbenchmark -Dtest=LandlordBookingQueryBenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LandlordBookingQueryBenchmark {
+
+    private static final long[] LANDLORD_IDS = {900_001L, 900_002L, 900_003L};
+    private static final int[] LANDLORD_ROOMS = {10, 1_000, 20_000};
+    private static final long OTHER_LANDLORD_ID = 900_000L;
+    private static final int OTHER_ROOMS = 20_000;
+    private static final int BOOKINGS_PER_ROOM = 3;
+    private static final int WARMUP = 20;
+    private static final int MEASURED = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @BeforeAll
+    void seed() {
+        // Deal rooms out in proportion, so every landlord's rooms are spread over the whole id range
+        List<Long> owners = new ArrayList<>();
+        int[] dealt = new int[LANDLORD_IDS.length];
+        for (int n = 0; n < OTHER_ROOMS; n++) {
+            owners.add(OTHER_LANDLORD_ID);
+            for (int i = 0; i < LANDLORD_IDS.length; i++) {
+                while (dealt[i] < LANDLORD_ROOMS[i] && (long) dealt[i] * OTHER_ROOMS <= (long) n * LANDLORD_ROOMS[i]) {
+                    owners.add(LANDLORD_IDS[i]);
+                    dealt[i]++;
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO rooms (landlord_id, title, address, city, price, size, is_available, " +
+                        "posted_date, version) VALUES (?, 'Benchmark room', 'Street', 'Benchmark City', 1000, 20, true, now(), 0)",
+                owners.stream().map(owner -> new Object[]{owner}).toList());
+
+        List<Long> roomIds = jdbcTemplate.queryForList(
+                "SELECT id FROM rooms WHERE landlord_id BETWEEN ? AND ? ORDER BY id", Long.class,
+                OTHER_LANDLORD_ID, LANDLORD_IDS[LANDLORD_IDS.length - 1]);
+        List<Object[]> bookings = new ArrayList<>();
+        Date start = Date.valueOf(LocalDate.now().plusDays(30));
+        Date end = Date.valueOf(LocalDate.now().plusDays(33));
+        for (int round = 0; round < BOOKINGS_PER_ROOM; round++) {
+            for (Long roomId : roomIds) {
+                bookings.add(new Object[]{roomId, start, end});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (room_id, seeker_id, booking_date, start_date, end_date, " +
+                "status, version) VALUES (?, 1, now(), ?, ?, 'PENDING', 0)", bookings);
+        jdbcTemplate.execute("ANALYZE rooms");
+        jdbcTemplate.execute("ANALYZE bookings");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE room_id IN " +
+                "(SELECT id FROM rooms WHERE landlord_id BETWEEN ? AND ?)", OTHER_LANDLORD_ID, LANDLORD_IDS[2]);
+        jdbcTemplate.update("DELETE FROM rooms WHERE landlord_id BETWEEN ? AND ?", OTHER_LANDLORD_ID, LANDLORD_IDS[2]);
+    }
+
+    @Test
+    void inListVersusJoin() {
+        System.out.printf("%8s %12s %12s%n", "rooms", "IN list", "join");
+        for (int i = 0; i < LANDLORD_IDS.length; i++) {
+            long landlordId = LANDLORD_IDS[i];
+            long expected = (long) LANDLORD_ROOMS[i] * BOOKINGS_PER_ROOM;
+            double inList = averageMillis(() -> pageThroughInList(landlordId), expected);
+            double join = averageMillis(() -> bookingRepository.findByLandlordId(
+                    landlordId, PageRequest.of(0, 10)).getTotalElements(), expected);
+            System.out.printf("%8d %9.2f ms %9.2f ms%n", LANDLORD_ROOMS[i], inList, join);
+        }
+    }
+
+    // What the landlord booking queries did before they joined to rooms
+    private long pageThroughInList(long landlordId) {
+        List<Long> roomIds = roomRepository.findRoomIdsByLandlordId(landlordId);
+        List<Booking> page = entityManager.createQuery(
+                        "SELECT b FROM Booking b WHERE b.roomId IN :roomIds ORDER BY b.id DESC", Booking.class)
+                .setParameter("roomIds", roomIds)
+                .setMaxResults(10)
+                .getResultList();
+        assertEquals(10, page.size());
+        return entityManager.createQuery("SELECT COUNT(b) FROM Booking b WHERE b.roomId IN :roomIds", Long.class)
+                .setParameter("roomIds", roomIds)
+                .getSingleResult();
+    }
+
+    private double averageMillis(LongSupplier query, long expectedTotal) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertEquals(expectedTotal, query.getAsLong());
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED; i++) {
+            query.getAsLong();
+        }
+        return (System.nanoTime() - start) / 1e6 / MEASURED;
+    }
+}
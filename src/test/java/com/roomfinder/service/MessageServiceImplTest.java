@@ -2,26 +2,40 @@ package com.roomfinder.service;
 
 import com.roomfinder.dto.request.MessageRequest;
 import com.roomfinder.dto.request.ValidateUsersRequest;
+import com.roomfinder.dto.response.CursorPage;
+import com.roomfinder.utils.CursorCodec;
+import com.roomfinder.dto.response.ReadReceiptResponse;
 import com.roomfinder.entity.Message;
 import com.roomfinder.exceptions.ResourceNotFoundException;
 import com.roomfinder.exceptions.UnauthorizedAccessException;
+import com.roomfinder.exceptions.ValidationException;
+import com.roomfinder.repository.ConversationSummaryRepository;
 import com.roomfinder.repository.MessageRepository;
 import com.roomfinder.service.UserService;
 import com.roomfinder.service.impl.MessageServiceImpl;
+import com.roomfinder.service.messaging.ConversationSummaryRollup;
+import com.roomfinder.service.messaging.NotificationDispatcher;
+import com.roomfinder.service.messaging.UnreadCounters;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +47,18 @@ class MessageServiceImplTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+
+    @Mock
+    private ConversationSummaryRepository conversationSummaryRepository;
+
+    @Mock
+    private ConversationSummaryRollup conversationSummaries;
+
+    @Mock
+    private UnreadCounters unreadCounters;
+
     @InjectMocks
     private MessageServiceImpl messageService;
 
@@ -82,6 +108,27 @@ class MessageServiceImplTest {
         assertEquals(testMessage.getContent(), result.getContent());
         assertEquals(testMessage.getSenderId(), result.getSenderId());
         verify(messageRepository).save(any(Message.class));
+        verify(conversationSummaries).messageSent(testMessage);
+    }
+
+    @Test
+    void sendAndNotifyMessage_PublishesOnlyAfterCommit() {
+        when(userService.getUserById(1L)).thenReturn(validSender);
+        when(userService.getUserById(2L)).thenReturn(validReceiver);
+        when(messageRepository.save(any(Message.class))).thenReturn(testMessage);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            messageService.sendAndNotifyMessage(1L, testRequest);
+            verifyNoInteractions(notificationDispatcher);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(notificationDispatcher).convertAndSend(eq("/topic/room/1"), any());
+        verify(notificationDispatcher).convertAndSendToUser(eq("1"), eq("/queue/messages"), any());
     }
 
     @Test
@@ -101,11 +148,22 @@ class MessageServiceImplTest {
     @Test
     void markAsRead_Success() {
         when(messageRepository.findById(1L)).thenReturn(Optional.of(testMessage));
-        when(messageRepository.save(any(Message.class))).thenReturn(testMessage);
+        when(messageRepository.markRead(1L)).thenReturn(1);
 
         messageService.markAsRead(1L, 2L);
 
-        verify(messageRepository).save(any(Message.class));
+        verify(messageRepository).markRead(1L);
+        verify(conversationSummaries).messagesRead(2L, 1L, 1);
+    }
+
+    @Test
+    void markAsRead_AlreadyRead_LeavesUnreadCountAlone() {
+        when(messageRepository.findById(1L)).thenReturn(Optional.of(testMessage));
+        when(messageRepository.markRead(1L)).thenReturn(0);
+
+        messageService.markAsRead(1L, 2L);
+
+        verifyNoInteractions(conversationSummaries);
     }
 
     @Test
@@ -116,18 +174,42 @@ class MessageServiceImplTest {
                 () -> messageService.markAsRead(1L, 1L));
     }
 
+    @Test
+    void markMessagesAsRead_UpdatesInBulkAndSendsOneReceipt() {
+        when(messageRepository.markRoomMessagesRead(eq(1L), eq(2L), any()))
+                .thenReturn(List.of(new Object[]{1L, 200L}, new Object[]{3L, 50L}));
+
+        int marked = messageService.markMessagesAsRead(1L, 2L);
+
+        assertEquals(250, marked);
+        verify(conversationSummaries).messagesRead(2L, Map.of(1L, 200, 3L, 50));
+        verify(messageRepository, never()).save(any(Message.class));
+        verify(messageRepository, never()).saveAll(any());
+        verify(notificationDispatcher).convertAndSend(eq("/topic/room/1/read-receipts"),
+                argThat((ReadReceiptResponse receipt) -> receipt.getReaderId() == 2L && receipt.getCount() == 250));
+    }
+
+    @Test
+    void markConversationAsRead_NothingUnread_SendsNoReceipt() {
+        when(messageRepository.markDirectMessagesRead(eq(1L), eq(2L), any())).thenReturn(0);
+
+        assertEquals(0, messageService.markConversationAsRead(1L, 2L));
+        verifyNoInteractions(notificationDispatcher);
+    }
+
     @Test
     void deleteMessage_Success() {
-        when(messageRepository.findById(1L)).thenReturn(Optional.of(testMessage));
+        when(messageRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testMessage));
 
         messageService.deleteMessage(1L, 1L);
 
         verify(messageRepository).delete(testMessage);
+        verify(conversationSummaries).messageDeleted(testMessage);
     }
 
     @Test
     void deleteMessage_UnauthorizedUser_ThrowsException() {
-        when(messageRepository.findById(1L)).thenReturn(Optional.of(testMessage));
+        when(messageRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testMessage));
 
         assertThrows(UnauthorizedAccessException.class,
                 () -> messageService.deleteMessage(1L, 2L));
@@ -138,14 +220,45 @@ class MessageServiceImplTest {
         List<Message> messages = Arrays.asList(testMessage);
         when(messageRepository.findAllRoomsByUserId(1L))
                 .thenReturn(Arrays.asList(1L));
-        when(messageRepository.findByRoomIdOrderBySentAtDesc(1L))
+        when(messageRepository.findRoomMessagesBefore(eq(1L), any(), eq(Long.MAX_VALUE), eq(Limit.of(51))))
                 .thenReturn(messages);
 
-        List<Message> result = messageService.getRoomMessages(1L, 1L);
+        CursorPage<Message> result = messageService.getRoomMessages(1L, 1L, null, null, 50);
 
         assertNotNull(result);
-        assertFalse(result.isEmpty());
-        assertEquals(messages.size(), result.size());
+        assertEquals(messages.size(), result.getContent().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getRoomMessages_AfterCursor_ReturnsOlderFirstPageWithNextCursor() {
+        Message newer = Message.builder().id(2L).senderId(2L).receiverId(1L).roomId(1L)
+                .sentAt(testMessage.getSentAt().plusMinutes(1)).build();
+        Message newest = Message.builder().id(3L).senderId(1L).receiverId(2L).roomId(1L)
+                .sentAt(testMessage.getSentAt().plusMinutes(2)).build();
+        when(messageRepository.findAllRoomsByUserId(1L)).thenReturn(Arrays.asList(1L));
+        when(messageRepository.findRoomMessagesAfter(1L, testMessage.getSentAt(), 1L, Limit.of(2)))
+                .thenReturn(List.of(newer, newest));
+
+        CursorPage<Message> result = messageService.getRoomMessages(1L, 1L, null,
+                CursorCodec.encode(testMessage.getSentAt(), 1L), 1);
+
+        assertEquals(List.of(newer), result.getContent());
+        assertTrue(result.isHasNext());
+        assertEquals(CursorCodec.encode(newer.getSentAt(), 2L), result.getNextCursor());
+        // The cursor carries its own position, so the message it came from need not exist any more
+        verify(messageRepository, never()).findById(any());
+    }
+
+    @Test
+    void getRoomMessages_BothCursors_ThrowsException() {
+        when(messageRepository.findAllRoomsByUserId(1L)).thenReturn(Arrays.asList(1L));
+
+        assertThrows(ValidationException.class,
+                () -> messageService.getRoomMessages(1L, 1L, CursorCodec.encode(testMessage.getSentAt(), 5L),
+                        CursorCodec.encode(testMessage.getSentAt(), 1L), 50));
+        verify(messageRepository, never()).findRoomMessagesBefore(any(), any(), any(), any());
     }
 
     @Test
@@ -154,7 +267,7 @@ class MessageServiceImplTest {
                 .thenReturn(Arrays.asList(2L));
 
         assertThrows(UnauthorizedAccessException.class,
-                () -> messageService.getRoomMessages(1L, 1L));
+                () -> messageService.getRoomMessages(1L, 1L, null, null, 50));
     }
 
     @Test
@@ -162,14 +275,13 @@ class MessageServiceImplTest {
         List<Message> messages = Arrays.asList(testMessage);
         when(userService.getUserById(1L)).thenReturn(validSender);
         when(userService.getUserById(2L)).thenReturn(validReceiver);
-        when(messageRepository.findBySenderIdAndReceiverIdOrderBySentAtDesc(1L, 2L))
+        when(messageRepository.findConversationBefore(eq(1L), eq(2L), any(), eq(Long.MAX_VALUE), eq(51)))
                 .thenReturn(messages);
 
-        List<Message> result = messageService.getConversation(2L, 1L);
+        CursorPage<Message> result = messageService.getConversation(2L, 1L, null, null, 50);
 
         assertNotNull(result);
-        assertFalse(result.isEmpty());
-        assertEquals(messages.size(), result.size());
+        assertEquals(messages.size(), result.getContent().size());
     }
 
     @Test
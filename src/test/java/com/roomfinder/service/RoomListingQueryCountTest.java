@@ -0,0 +1,105 @@
+package com.roomfinder.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roomfinder.dto.response.RoomSummaryResponse;
+import com.roomfinder.entity.Room;
+import com.roomfinder.repository.RoomRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class RoomListingQueryCountTest {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Room room = new Room();
+            room.setLandlordId(1L);
+            room.setTitle("Room " + i);
+            room.setAddress("Street " + i);
+            room.setCity("Test City");
+            room.setPrice(1000 + i);
+            room.setImages(new ArrayList<>(List.of("a.jpg", "b.jpg")));
+            room.getAmenities().putAll(Map.of("wifi", "yes", "parking", "no"));
+            rooms.add(room);
+        }
+        roomRepository.saveAll(rooms);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getAllRooms_StatementCountIndependentOfPageSize() throws Exception {
+        // Arrange / Act
+        long small = statementsFor(5);
+        long large = statementsFor(20);
+
+        // Assert: page query, count query, images and amenities
+        assertEquals(4, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void getAllRooms_IncludesImagesAndAmenities() {
+        // Act
+        Page<RoomSummaryResponse> page = roomService.getAllRooms(PageRequest.of(0, 5, Sort.by("id")));
+
+        // Assert
+        assertEquals(40, page.getTotalElements());
+        assertEquals(List.of("Room 0", "Room 1", "Room 2", "Room 3", "Room 4"),
+                page.getContent().stream().map(RoomSummaryResponse::getTitle).toList());
+        page.getContent().forEach(room -> {
+            assertEquals(List.of("a.jpg", "b.jpg"), room.getImages().stream().sorted().toList());
+            assertEquals(Map.of("wifi", "yes", "parking", "no"), room.getAmenities());
+        });
+    }
+
+    private long statementsFor(int pageSize) throws Exception {
+        entityManager.clear();
+        statistics.clear();
+        Page<RoomSummaryResponse> page = roomService.getAllRooms(PageRequest.of(0, pageSize));
+        // Serializing must not trigger any further loads
+        objectMapper.writeValueAsString(page.getContent());
+        assertEquals(pageSize, page.getContent().size());
+        return statistics.getPrepareStatementCount();
+    }
+}
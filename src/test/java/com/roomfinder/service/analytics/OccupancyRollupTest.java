@@ -0,0 +1,62 @@
+package com.roomfinder.service.analytics;
+
+import com.roomfinder.repository.BookingRepository;
+import com.roomfinder.repository.RoomOccupancyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class OccupancyRollupTest {
+
+    @Mock
+    private RoomOccupancyRepository occupancyRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OccupancyRollup rollup;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        rollup = new OccupancyRollup(occupancyRepository, bookingRepository, transactionTemplate, 200);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void refresh_LocksRoomsInIdOrderIncludingIdsBeyondTheIntRange() {
+        // Act
+        rollup.refresh(List.of(5_000_000_000L, 7L, 7L));
+
+        // Assert
+        InOrder inOrder = inOrder(bookingRepository, occupancyRepository);
+        inOrder.verify(bookingRepository).acquireAdvisoryXactLock(OccupancyRollup.ADVISORY_NAMESPACE, 7L);
+        inOrder.verify(bookingRepository).acquireAdvisoryXactLock(OccupancyRollup.ADVISORY_NAMESPACE, 5_000_000_000L);
+        inOrder.verify(occupancyRepository).refreshRooms(List.of(7L, 5_000_000_000L));
+    }
+
+    @Test
+    void refresh_OutsideTransaction_Throws() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+
+        assertThrows(IllegalStateException.class, () -> rollup.refresh(List.of(7L)));
+    }
+}
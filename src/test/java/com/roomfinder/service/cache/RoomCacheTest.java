@@ -0,0 +1,85 @@
+package com.roomfinder.service.cache;
+
+import com.roomfinder.entity.Room;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.roomfinder.fixtures.RoomFixture.room;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomCacheTest {
+
+    private MeterRegistry meterRegistry;
+    private RoomCache roomCache;
+    private AtomicInteger loads;
+    private Function<Long, Room> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        roomCache = new RoomCache(meterRegistry, 100, Duration.ofMinutes(10));
+        loads = new AtomicInteger();
+        loader = id -> {
+            loads.incrementAndGet();
+            return room(id).build();
+        };
+    }
+
+    @Test
+    void get_LoadsOnceAndRecordsHitsAndMisses() {
+        // Act
+        Room first = roomCache.get(1L, loader);
+        Room second = roomCache.get(1L, loader);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "rooms").tag("result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "rooms").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void index_InvalidatesChangedRoomOnly() {
+        // Arrange
+        roomCache.get(1L, loader);
+        roomCache.get(2L, loader);
+        // Act
+        roomCache.index(room(1L).build());
+        roomCache.get(1L, loader);
+        roomCache.get(2L, loader);
+
+        // Assert
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void remove_InvalidatesDeletedRoom() {
+        // Arrange
+        roomCache.get(1L, loader);
+
+        // Act
+        roomCache.remove(1L);
+        roomCache.get(1L, loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_FailedLoadIsNotCached() {
+        // Act
+        assertThrows(IllegalStateException.class, () -> roomCache.get(1L, id -> {
+            throw new IllegalStateException("missing");
+        }));
+        roomCache.get(1L, loader);
+
+        // Assert
+        assertEquals(1, loads.get());
+    }
+}
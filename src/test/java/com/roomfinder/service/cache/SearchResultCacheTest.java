@@ -0,0 +1,107 @@
+package com.roomfinder.service.cache;
+
+import com.roomfinder.dto.request.RoomSearchCriteria;
+import com.roomfinder.service.index.IdPage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.roomfinder.fixtures.RoomFixture.room;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchResultCacheTest {
+
+    private SearchResultCache searchResultCache;
+    private AtomicInteger searches;
+    private Supplier<IdPage> search;
+    private final Pageable firstPage = PageRequest.of(0, 10);
+
+    @BeforeEach
+    void setUp() {
+        searchResultCache = new SearchResultCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        searchResultCache.index(room(1L).city("Kathmandu").build());
+        searchResultCache.index(room(2L).city("Pokhara").build());
+        searches = new AtomicInteger();
+        search = () -> {
+            searches.incrementAndGet();
+            return new IdPage(new long[]{1L}, 1);
+        };
+    }
+
+    @Test
+    void get_NormalizesEquivalentCriteria() {
+        // Arrange
+        RoomSearchCriteria first = RoomSearchCriteria.builder()
+                .city(" Kathmandu ").maxPrice(10000.0).amenities(List.of("wifi", "parking")).build();
+        RoomSearchCriteria second = RoomSearchCriteria.builder()
+                .city("Kathmandu").maxPrice(10000.0).amenities(List.of("parking", " wifi", "")).build();
+
+        // Act
+        searchResultCache.get(first, firstPage, search);
+        IdPage result = searchResultCache.get(second, firstPage, search);
+
+        // Assert
+        assertEquals(1, searches.get());
+        assertArrayEquals(new long[]{1L}, result.ids());
+    }
+
+    @Test
+    void index_InvalidatesOnlySearchesThatCouldContainTheRoom() {
+        // Arrange
+        RoomSearchCriteria kathmandu = RoomSearchCriteria.builder().city("Kathmandu").build();
+        RoomSearchCriteria pokhara = RoomSearchCriteria.builder().city("Pokhara").build();
+        RoomSearchCriteria anyCity = RoomSearchCriteria.builder().maxPrice(5000.0).build();
+        searchResultCache.get(kathmandu, firstPage, search);
+        searchResultCache.get(pokhara, firstPage, search);
+        searchResultCache.get(anyCity, firstPage, search);
+
+        // Act
+        searchResultCache.index(room(2L).city("Pokhara").build());
+        searchResultCache.get(kathmandu, firstPage, search);
+        searchResultCache.get(pokhara, firstPage, search);
+        searchResultCache.get(anyCity, firstPage, search);
+
+        // Assert: Pokhara and the city-less search ran again
+        assertEquals(5, searches.get());
+    }
+
+    @Test
+    void index_RoomMovingCityInvalidatesBothCities() {
+        // Arrange
+        RoomSearchCriteria kathmandu = RoomSearchCriteria.builder().city("Kathmandu").build();
+        RoomSearchCriteria pokhara = RoomSearchCriteria.builder().city("Pokhara").build();
+        searchResultCache.get(kathmandu, firstPage, search);
+        searchResultCache.get(pokhara, firstPage, search);
+
+        // Act
+        searchResultCache.index(room(1L).city("Pokhara").build());
+        searchResultCache.get(kathmandu, firstPage, search);
+        searchResultCache.get(pokhara, firstPage, search);
+
+        // Assert
+        assertEquals(4, searches.get());
+    }
+
+    @Test
+    void get_ResultRacingAnInvalidationIsNotCached() {
+        // Arrange
+        RoomSearchCriteria kathmandu = RoomSearchCriteria.builder().city("Kathmandu").build();
+
+        // Act: a write commits while the search is running
+        searchResultCache.get(kathmandu, firstPage, () -> {
+            searchResultCache.remove(1L);
+            return IdPage.empty();
+        });
+        searchResultCache.get(kathmandu, firstPage, search);
+
+        // Assert
+        assertEquals(1, searches.get());
+    }
+}
@@ -0,0 +1,85 @@
+package com.roomfinder.service.idempotency;
+
+import com.roomfinder.entity.IdempotencyRecord;
+import com.roomfinder.repository.IdempotencyRecordRepository;
+import com.roomfinder.service.idempotency.IdempotencyStore.Claim;
+import com.roomfinder.service.idempotency.IdempotencyStore.State;
+import com.roomfinder.service.idempotency.IdempotencyStore.StoredResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(repository, new SimpleMeterRegistry(), 100, Duration.ofHours(24), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void begin_FirstRequestClaimsTheKey() {
+        when(repository.claim(eq("scope"), eq("hash"), any(), any(), any())).thenReturn(1);
+
+        assertEquals(State.ACQUIRED, store.begin("scope", "hash").state());
+    }
+
+    @Test
+    void begin_ClaimedButUnfinishedKeyIsInProgress() {
+        when(repository.claim(anyString(), anyString(), any(), any(), any())).thenReturn(0);
+        when(repository.findByScopeKeyAndExpiresAtAfter(eq("scope"), any())).thenReturn(Optional.of(record(null)));
+
+        assertEquals(State.IN_PROGRESS, store.begin("scope", "hash").state());
+        assertEquals(State.MISMATCH, store.begin("scope", "other").state());
+    }
+
+    @Test
+    void begin_CompletedOnAnotherNodeIsReplayedAndCachedLocally() {
+        when(repository.claim(anyString(), anyString(), any(), any(), any())).thenReturn(0);
+        when(repository.findByScopeKeyAndExpiresAtAfter(eq("scope"), any())).thenReturn(Optional.of(record(201)));
+
+        Claim first = store.begin("scope", "hash");
+        Claim second = store.begin("scope", "hash");
+
+        assertEquals(State.REPLAY, first.state());
+        assertEquals(201, first.response().status());
+        assertEquals(State.REPLAY, second.state());
+        verify(repository, times(1)).findByScopeKeyAndExpiresAtAfter(anyString(), any());
+    }
+
+    @Test
+    void complete_RetriesOnThisNodeSkipTheDatabase() {
+        store.complete("scope", new StoredResponse("hash", 201, "application/json", new byte[]{'{', '}'}));
+
+        assertEquals(State.REPLAY, store.begin("scope", "hash").state());
+        assertEquals(State.MISMATCH, store.begin("scope", "other").state());
+        verify(repository, never()).claim(anyString(), anyString(), any(), any(), any());
+    }
+
+    private IdempotencyRecord record(Integer statusCode) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setScopeKey("scope");
+        record.setRequestHash("hash");
+        record.setStatusCode(statusCode);
+        record.setContentType("application/json");
+        record.setBody(new byte[]{'{', '}'});
+        return record;
+    }
+}
@@ -0,0 +1,85 @@
+package com.roomfinder.service.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.roomfinder.fixtures.RoomFixture.room;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AddressIndexTest {
+
+    private AddressIndex addressIndex;
+
+    @BeforeEach
+    void setUp() {
+        addressIndex = new AddressIndex();
+        addressIndex.index(room(1L).address("Thamel Marg, Kathmandu").build());
+        addressIndex.index(room(2L).address("Lakeside Road, Pokhara").build());
+        addressIndex.index(room(3L).address("Thamelgaun, Kathmandu").build());
+        addressIndex.index(room(4L).address("Thamel Chowk").available(false).build());
+        addressIndex.rebuildComplete();
+    }
+
+    @Test
+    void search_RanksExactTokenMatchesFirst() {
+        // Act
+        IdPage page = addressIndex.search("thamel", 0, 10);
+
+        // Assert
+        assertEquals(2, page.total());
+        assertArrayEquals(new long[]{1L, 3L}, page.ids());
+    }
+
+    @Test
+    void search_RequiresEveryQueryToken() {
+        // Act
+        IdPage page = addressIndex.search("Lakeside Kathmandu", 0, 10);
+
+        // Assert
+        assertEquals(0, page.total());
+    }
+
+    @Test
+    void search_PagesResults() {
+        // Act
+        IdPage page = addressIndex.search("kath", 1, 1);
+
+        // Assert
+        assertEquals(2, page.total());
+        assertArrayEquals(new long[]{1L}, page.ids());
+    }
+
+    @Test
+    void search_PrefixMatchingSeveralTokensCountsEachRoomOnce() {
+        // Arrange
+        addressIndex.index(room(5L).address("Thamel Thamelgaun").build());
+
+        // Act
+        IdPage page = addressIndex.search("tham", 0, 10);
+
+        // Assert
+        assertEquals(3, page.total());
+        assertArrayEquals(new long[]{5L, 3L, 1L}, page.ids());
+    }
+
+    @Test
+    void index_ReplacesPreviousAddressAndSkipsUnavailableRooms() {
+        // Arrange
+        addressIndex.index(room(1L).address("Baneshwor, Kathmandu").build());
+        addressIndex.index(room(3L).address("Thamelgaun, Kathmandu").available(false).build());
+
+        // Act & Assert
+        assertEquals(0, addressIndex.search("thamel", 0, 10).total());
+        assertArrayEquals(new long[]{1L}, addressIndex.search("baneshwor", 0, 10).ids());
+    }
+
+    @Test
+    void remove_DropsRoomFromPostings() {
+        // Act
+        addressIndex.remove(2L);
+
+        // Assert
+        assertEquals(0, addressIndex.search("pokhara", 0, 10).total());
+        assertTrue(addressIndex.isReady());
+    }
+}
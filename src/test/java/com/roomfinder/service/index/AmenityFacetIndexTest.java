@@ -0,0 +1,104 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.dto.request.RoomSearchCriteria;
+import com.roomfinder.entity.Room;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.roomfinder.fixtures.RoomFixture.room;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmenityFacetIndexTest {
+
+    private AmenityFacetIndex facetIndex;
+
+    @BeforeEach
+    void setUp() {
+        facetIndex = new AmenityFacetIndex(new RoomSlots());
+        facetIndex.index(room(1L).city("Kathmandu").price(8000)
+                .amenities(Map.of("wifi", "yes", "parking", "included")).build());
+        facetIndex.index(room(2L).city("Kathmandu").price(12000)
+                .amenities(Map.of("wifi", "yes", "parking", "yes")).build());
+        facetIndex.index(room(3L).city("Kathmandu").price(6000)
+                .amenities(Map.of("WiFi", "available", "parking", "no")).build());
+        facetIndex.index(room(4L).city("Pokhara").price(5000)
+                .amenities(Map.of("wifi", "yes", "parking", "yes")).build());
+        facetIndex.rebuildComplete();
+    }
+
+    @Test
+    void search_IntersectsAmenityCityAndPrice() {
+        // Arrange
+        RoomSearchCriteria criteria = RoomSearchCriteria.builder()
+                .city("kathmandu")
+                .maxPrice(10000.0)
+                .amenities(List.of("wifi", "parking"))
+                .build();
+
+        // Act
+        AmenityFacetIndex.FacetResult result = facetIndex.search(criteria, 0, 10);
+
+        // Assert
+        assertArrayEquals(new long[]{1L}, result.page().ids());
+        assertEquals(1, result.page().total());
+    }
+
+    @Test
+    void search_CountsFacetsOverResult() {
+        // Arrange
+        RoomSearchCriteria criteria = RoomSearchCriteria.builder().city("Kathmandu").build();
+
+        // Act
+        AmenityFacetIndex.FacetResult result = facetIndex.search(criteria, 0, 10);
+
+        // Assert
+        assertEquals(3L, result.amenityCounts().get("wifi"));
+        assertEquals(2L, result.amenityCounts().get("parking"));
+        assertEquals(3L, result.cityCounts().get("Kathmandu"));
+        assertEquals(1L, result.cityCounts().get("Pokhara"));
+    }
+
+    @Test
+    void search_PagesNewestFirst() {
+        // Act
+        AmenityFacetIndex.FacetResult result = facetIndex.search(new RoomSearchCriteria(), 1, 2);
+
+        // Assert
+        assertArrayEquals(new long[]{3L, 2L}, result.page().ids());
+        assertEquals(4, result.page().total());
+    }
+
+    @Test
+    void search_OrdersByIdWhateverTheIndexingOrder() {
+        // Arrange: ids beyond the int range and indexed out of order
+        facetIndex.index(room(5_000_000_000L).city("Pokhara").price(5000).amenities(Map.of("garden", "yes")).build());
+        facetIndex.index(room(10L).city("Pokhara").price(5000).amenities(Map.of("garden", "yes")).build());
+
+        // Act
+        AmenityFacetIndex.FacetResult result = facetIndex.search(
+                RoomSearchCriteria.builder().amenities(List.of("garden")).build(), 0, 10);
+
+        // Assert
+        assertArrayEquals(new long[]{5_000_000_000L, 10L}, result.page().ids());
+    }
+
+    @Test
+    void index_UpdatesBitmapsWhenRoomChanges() {
+        // Arrange
+        Room updated = room(4L).city("Kathmandu").price(5000).amenities(Map.of("wifi", "yes")).build();
+        updated.setAvailable(false);
+
+        // Act
+        facetIndex.index(updated);
+        facetIndex.remove(2L);
+
+        // Assert
+        AmenityFacetIndex.FacetResult result = facetIndex.search(
+                RoomSearchCriteria.builder().amenities(List.of("parking")).build(), 0, 10);
+        assertArrayEquals(new long[]{1L}, result.page().ids());
+        assertFalse(result.cityCounts().containsKey("Pokhara"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.entity.Booking;
+import com.roomfinder.enums.BookingStatus;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class BookingIndexesTest {
+
+    private final BookingIndex index = mock(BookingIndex.class);
+    private final BookingIndexes bookingIndexes = new BookingIndexes(List.of(index));
+
+    @Test
+    void finishRebuild_ReplaysCancellationOverStaleScannedRow() {
+        // Arrange
+        Booking approved = new Booking();
+        approved.setId(8L);
+        approved.setStatus(BookingStatus.APPROVED);
+        Booking cancelled = new Booking();
+        cancelled.setId(8L);
+        cancelled.setStatus(BookingStatus.CANCELLED);
+        bookingIndexes.startRebuild();
+        bookingIndexes.index(cancelled);
+
+        // Act: the scan read the row before the cancellation committed
+        bookingIndexes.indexScanned(approved);
+        bookingIndexes.finishRebuild();
+
+        // Assert
+        InOrder inOrder = inOrder(index);
+        inOrder.verify(index).index(cancelled);
+        inOrder.verify(index).index(approved);
+        inOrder.verify(index).index(cancelled);
+        inOrder.verify(index).rebuildComplete();
+    }
+}
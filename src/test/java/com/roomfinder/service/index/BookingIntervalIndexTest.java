@@ -0,0 +1,69 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.entity.Booking;
+import com.roomfinder.enums.BookingStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingIntervalIndexTest {
+
+    private static final LocalDate MARCH_1 = LocalDate.of(2030, 3, 1);
+
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingIntervalIndex();
+        // Room 1 is booked 1-10 March and 15-20 March
+        index.index(booking(1L, 1L, MARCH_1, MARCH_1.plusDays(9), BookingStatus.APPROVED));
+        index.index(booking(2L, 1L, MARCH_1.plusDays(14), MARCH_1.plusDays(19), BookingStatus.APPROVED));
+        index.index(booking(3L, 1L, MARCH_1.plusDays(10), MARCH_1.plusDays(12), BookingStatus.PENDING));
+        index.rebuildComplete();
+    }
+
+    @Test
+    void overlaps_DetectsPartialAndEnclosingRanges() {
+        assertTrue(index.overlaps(1L, MARCH_1.minusDays(3), MARCH_1));
+        assertTrue(index.overlaps(1L, MARCH_1.plusDays(2), MARCH_1.plusDays(4)));
+        // Encloses the whole second booking without either end falling inside it
+        assertTrue(index.overlaps(1L, MARCH_1.plusDays(12), MARCH_1.plusDays(25)));
+    }
+
+    @Test
+    void overlaps_IgnoresGapsOtherRoomsAndPendingBookings() {
+        assertFalse(index.overlaps(1L, MARCH_1.plusDays(10), MARCH_1.plusDays(13)));
+        assertFalse(index.overlaps(2L, MARCH_1, MARCH_1.plusDays(30)));
+    }
+
+    @Test
+    void nextFreeStart_SkipsBookedDaysAndGapsThatAreTooShort() {
+        assertEquals(MARCH_1.minusDays(5), index.nextFreeStart(1L, MARCH_1.minusDays(5), 3));
+        assertEquals(MARCH_1.plusDays(10), index.nextFreeStart(1L, MARCH_1.plusDays(2), 4));
+        assertEquals(MARCH_1.plusDays(20), index.nextFreeStart(1L, MARCH_1.plusDays(2), 5));
+    }
+
+    @Test
+    void index_CancellingOrRemovingFreesTheDates() {
+        // Act
+        index.index(booking(1L, 1L, MARCH_1, MARCH_1.plusDays(9), BookingStatus.CANCELLED));
+        index.remove(2L);
+
+        // Assert
+        assertFalse(index.overlaps(1L, MARCH_1, MARCH_1.plusDays(30)));
+        assertEquals(MARCH_1, index.nextFreeStart(1L, MARCH_1, 30));
+    }
+
+    private Booking booking(Long id, Long roomId, LocalDate start, LocalDate end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setRoomId(roomId);
+        booking.setStartDate(start);
+        booking.setEndDate(end);
+        booking.setStatus(status);
+        return booking;
+    }
+}
@@ -0,0 +1,83 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.entity.Room;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query latency of the geo index with 500k rooms packed into a 33 km square.
+ * Run with {@code mvn test -Pbenchmark -Dtest=GeoIndexBenchmark}.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GeoIndexBenchmark {
+
+    private static final int ROOMS = 500_000;
+    private static final double ORIGIN_LAT = 27.55;
+    private static final double ORIGIN_LNG = 85.15;
+    private static final double SIDE_DEGREES = 0.3;
+    private static final int WARMUP = 2_000;
+    private static final int MEASURED = 2_000;
+
+    private final GeoIndex geoIndex = new GeoIndex();
+
+    @BeforeAll
+    void loadRooms() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= ROOMS; id++) {
+            Room room = new Room();
+            room.setId(id);
+            room.setLatitude(ORIGIN_LAT + random.nextDouble() * SIDE_DEGREES);
+            room.setLongitude(ORIGIN_LNG + random.nextDouble() * SIDE_DEGREES);
+            room.setAvailable(true);
+            geoIndex.index(room);
+        }
+        geoIndex.rebuildComplete();
+    }
+
+    @Test
+    void nearby() {
+        for (double radiusKm : new double[]{0.5, 1, 2, 5}) {
+            report("nearby " + radiusKm + " km", (lat, lng) -> geoIndex.nearby(lat, lng, radiusKm, 0, 20));
+        }
+    }
+
+    @Test
+    void withinBounds() {
+        for (double side : new double[]{0.01, 0.05, 0.1}) {
+            report("withinBounds " + side + " deg",
+                    (lat, lng) -> geoIndex.withinBounds(lat, lat + side, lng, lng + side, 0, 20));
+        }
+    }
+
+    private interface Query {
+        IdPage run(double lat, double lng);
+    }
+
+    // Centres stay 5 km inside the square, so every radius sees the same density
+    private void report(String label, Query query) {
+        SplittableRandom random = new SplittableRandom(7);
+        double margin = 0.05;
+        double span = SIDE_DEGREES - 2 * margin;
+        long hits = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            hits += query.run(ORIGIN_LAT + margin + random.nextDouble() * span,
+                    ORIGIN_LNG + margin + random.nextDouble() * span).total();
+        }
+        hits = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED; i++) {
+            hits += query.run(ORIGIN_LAT + margin + random.nextDouble() * span,
+                    ORIGIN_LNG + margin + random.nextDouble() * span).total();
+        }
+        double avgMillis = (System.nanoTime() - start) / 1e6 / MEASURED;
+        System.out.printf("%-24s avg %7.3f ms   avg hits %8.0f%n", label, avgMillis, (double) hits / MEASURED);
+        assertTrue(hits > 0);
+    }
+}
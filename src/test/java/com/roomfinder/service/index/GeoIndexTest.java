@@ -0,0 +1,90 @@
+package com.roomfinder.service.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.roomfinder.fixtures.RoomFixture.room;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoIndexTest {
+
+    private GeoIndex geoIndex;
+
+    @BeforeEach
+    void setUp() {
+        geoIndex = new GeoIndex();
+        // Around Ratna Park, Kathmandu
+        geoIndex.index(room(1L).location(27.7060, 85.3150).build());
+        geoIndex.index(room(2L).location(27.7150, 85.3120).build());
+        geoIndex.index(room(3L).location(27.6800, 85.3300).build());
+        geoIndex.index(room(4L).location(27.7065, 85.3155).available(false).build());
+        // Pokhara
+        geoIndex.index(room(5L).location(28.2096, 83.9856).build());
+        geoIndex.rebuildComplete();
+    }
+
+    @Test
+    void nearby_ReturnsRoomsInsideRadiusNearestFirst() {
+        // Act
+        IdPage page = geoIndex.nearby(27.7050, 85.3140, 2, 0, 10);
+
+        // Assert
+        assertEquals(2, page.total());
+        assertArrayEquals(new long[]{1L, 2L}, page.ids());
+    }
+
+    @Test
+    void nearby_PagesResults() {
+        // Act
+        IdPage page = geoIndex.nearby(27.7050, 85.3140, 5, 1, 1);
+
+        // Assert
+        assertEquals(3, page.total());
+        assertArrayEquals(new long[]{2L}, page.ids());
+    }
+
+    @Test
+    void withinBounds_ReturnsNewestFirstAndHandlesAntimeridian() {
+        // Arrange
+        geoIndex.index(room(6L).location(-17.70, 179.99).build());
+        geoIndex.index(room(7L).location(-17.71, -179.99).build());
+
+        // Act & Assert
+        assertArrayEquals(new long[]{3L, 2L, 1L}, geoIndex.withinBounds(27.6, 27.8, 85.2, 85.4, 0, 10).ids());
+        assertArrayEquals(new long[]{7L, 6L}, geoIndex.withinBounds(-18, -17, 179.9, -179.9, 0, 10).ids());
+    }
+
+    @Test
+    void withinBounds_ProbesCellsWhenTheBoxIsSmallerThanTheOccupiedGrid() {
+        // Arrange: more occupied cells than the box covers
+        for (long id = 100; id < 150; id++) {
+            geoIndex.index(room(id).location(10 + id * 0.05, 20.0).build());
+        }
+
+        // Act & Assert
+        assertArrayEquals(new long[]{101L, 100L}, geoIndex.withinBounds(14.99, 15.06, 19.99, 20.01, 0, 10).ids());
+        assertArrayEquals(new long[]{3L, 2L, 1L}, geoIndex.withinBounds(27.6, 27.8, 85.2, 85.4, 0, 10).ids());
+    }
+
+    @Test
+    void index_MovesRoomAndSkipsUnavailableOrUnplacedRooms() {
+        // Arrange
+        geoIndex.index(room(1L).location(28.2100, 83.9860).build());
+        geoIndex.index(room(2L).location(null, null).build());
+
+        // Act
+        IdPage page = geoIndex.nearby(28.2096, 83.9856, 1, 0, 10);
+
+        // Assert
+        assertArrayEquals(new long[]{5L, 1L}, page.ids());
+        assertEquals(1, geoIndex.nearby(27.7050, 85.3140, 5, 0, 10).total());
+    }
+
+    @Test
+    void distanceKm_MatchesKnownDistance() {
+        // Kathmandu to Pokhara is about 140 km in a straight line
+        double distance = GeoIndex.distanceKm(27.7172, 85.3240, 28.2096, 83.9856);
+
+        assertEquals(142, distance, 3);
+    }
+}
@@ -0,0 +1,125 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.entity.Booking;
+import com.roomfinder.enums.BookingStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyCalendarTest {
+
+    private static final LocalDate MARCH_1 = LocalDate.of(2030, 3, 1);
+
+    private RoomSlots roomSlots;
+    private OccupancyCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        roomSlots = new RoomSlots();
+        calendar = new OccupancyCalendar(roomSlots);
+        // Room 1 is booked 1-10 March, room 2 for most of the year, room 3 only has a pending request
+        calendar.index(booking(1L, 1L, MARCH_1, MARCH_1.plusDays(9), BookingStatus.APPROVED));
+        calendar.index(booking(2L, 2L, MARCH_1.minusDays(40), MARCH_1.plusDays(250), BookingStatus.APPROVED));
+        calendar.index(booking(3L, 3L, MARCH_1, MARCH_1.plusDays(9), BookingStatus.PENDING));
+        calendar.rebuildComplete();
+    }
+
+    @Test
+    void isFree_ChecksBothEndsOfTheRange() {
+        assertFalse(calendar.isFree(1L, MARCH_1.minusDays(5), MARCH_1));
+        assertFalse(calendar.isFree(1L, MARCH_1.plusDays(9), MARCH_1.plusDays(20)));
+        assertTrue(calendar.isFree(1L, MARCH_1.plusDays(10), MARCH_1.plusDays(200)));
+        assertTrue(calendar.isFree(1L, MARCH_1.minusDays(100), MARCH_1.minusDays(1)));
+        assertTrue(calendar.isFree(3L, MARCH_1, MARCH_1.plusDays(9)));
+    }
+
+    @Test
+    void isFree_DetectsBookingsSpanningManyWords() {
+        assertFalse(calendar.isFree(2L, MARCH_1.plusDays(100), MARCH_1.plusDays(101)));
+        assertFalse(calendar.isFree(2L, MARCH_1.minusDays(400), MARCH_1.plusDays(400)));
+        assertTrue(calendar.isFree(2L, MARCH_1.plusDays(251), MARCH_1.plusDays(400)));
+    }
+
+    @Test
+    void isFree_HandlesRoomIdsBeyondTheIntRange() {
+        calendar.index(booking(4L, 5_000_000_000L, MARCH_1, MARCH_1.plusDays(2), BookingStatus.APPROVED));
+
+        assertFalse(calendar.isFree(5_000_000_000L, MARCH_1.plusDays(1), MARCH_1.plusDays(1)));
+        assertTrue(calendar.isFree(5_000_000_000L, MARCH_1.plusDays(3), MARCH_1.plusDays(9)));
+        assertTrue(calendar.isFree(6_000_000_000L, MARCH_1, MARCH_1.plusDays(9)));
+    }
+
+    @Test
+    void removeOccupied_KeepsOnlyFreeCandidates() {
+        BitSet rooms = new BitSet();
+        for (long roomId = 1; roomId <= 4; roomId++) {
+            rooms.set(roomSlots.slotOf(roomId));
+        }
+
+        calendar.removeOccupied(rooms, MARCH_1.plusDays(5), MARCH_1.plusDays(6));
+
+        BitSet expected = new BitSet();
+        expected.set(roomSlots.slotOf(3L));
+        expected.set(roomSlots.slotOf(4L));
+        assertEquals(expected, rooms);
+    }
+
+    @Test
+    void bookedDays_ClipsBookingsToTheRange() {
+        BitSet days = calendar.bookedDays(1L, MARCH_1.minusDays(2), MARCH_1.plusDays(3));
+
+        assertEquals("{2, 3, 4, 5}", days.toString());
+        assertTrue(calendar.bookedDays(3L, MARCH_1, MARCH_1.plusDays(9)).isEmpty());
+        assertEquals(90, calendar.bookedDays(2L, MARCH_1, MARCH_1.plusDays(89)).cardinality());
+    }
+
+    @Test
+    void index_CancellingOneOfOverlappingBookingsKeepsTheOther() {
+        // Arrange
+        calendar.index(booking(4L, 1L, MARCH_1.plusDays(5), MARCH_1.plusDays(15), BookingStatus.APPROVED));
+
+        // Act
+        calendar.index(booking(1L, 1L, MARCH_1, MARCH_1.plusDays(9), BookingStatus.CANCELLED));
+
+        // Assert
+        assertTrue(calendar.isFree(1L, MARCH_1, MARCH_1.plusDays(4)));
+        assertFalse(calendar.isFree(1L, MARCH_1.plusDays(5), MARCH_1.plusDays(5)));
+        calendar.remove(4L);
+        assertTrue(calendar.isFree(1L, MARCH_1, MARCH_1.plusDays(30)));
+    }
+
+    @Test
+    void index_GrowsTheRoomBitmapForBookingsOnEitherSide() {
+        calendar.index(booking(10L, 9L, MARCH_1, MARCH_1.plusDays(2), BookingStatus.APPROVED));
+        calendar.index(booking(11L, 9L, MARCH_1.plusDays(300), MARCH_1.plusDays(301), BookingStatus.APPROVED));
+        calendar.index(booking(12L, 9L, MARCH_1.minusDays(200), MARCH_1.minusDays(199), BookingStatus.APPROVED));
+
+        BitSet expected = new BitSet();
+        expected.set(0, 2);
+        expected.set(200, 203);
+        expected.set(500, 502);
+        assertEquals(expected, calendar.bookedDays(9L, MARCH_1.minusDays(200), MARCH_1.plusDays(400)));
+    }
+
+    @Test
+    void index_MovingABookingClearsItsOldDays() {
+        calendar.index(booking(1L, 1L, MARCH_1.plusDays(20), MARCH_1.plusDays(21), BookingStatus.APPROVED));
+
+        assertTrue(calendar.isFree(1L, MARCH_1, MARCH_1.plusDays(19)));
+        assertFalse(calendar.isFree(1L, MARCH_1.plusDays(21), MARCH_1.plusDays(21)));
+    }
+
+    private Booking booking(Long id, Long roomId, LocalDate start, LocalDate end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setRoomId(roomId);
+        booking.setStartDate(start);
+        booking.setEndDate(end);
+        booking.setStatus(status);
+        return booking;
+    }
+}
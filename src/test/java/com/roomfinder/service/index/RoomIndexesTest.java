@@ -0,0 +1,52 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.entity.Room;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.List;
+
+import static com.roomfinder.fixtures.RoomFixture.room;
+import static org.mockito.Mockito.*;
+
+class RoomIndexesTest {
+
+    private final RoomIndex index = mock(RoomIndex.class);
+    private final RoomIndexes roomIndexes = new RoomIndexes(List.of(index));
+
+    @Test
+    void finishRebuild_ReplaysRemovalOverStaleScannedRow() {
+        // Arrange
+        Room stale = room(5L).build();
+        roomIndexes.startRebuild();
+        roomIndexes.remove(5L);
+
+        // Act: the scan read the row before the delete committed
+        roomIndexes.indexScanned(stale);
+        roomIndexes.finishRebuild();
+
+        // Assert
+        InOrder inOrder = inOrder(index);
+        inOrder.verify(index).clear();
+        inOrder.verify(index).remove(5L);
+        inOrder.verify(index).index(stale);
+        inOrder.verify(index).remove(5L);
+        inOrder.verify(index).rebuildComplete();
+    }
+
+    @Test
+    void index_AfterRebuild_IsNotRecorded() {
+        // Arrange
+        Room room = room(5L).build();
+        roomIndexes.startRebuild();
+        roomIndexes.finishRebuild();
+
+        // Act
+        roomIndexes.index(room);
+        roomIndexes.startRebuild();
+        roomIndexes.finishRebuild();
+
+        // Assert
+        verify(index, times(1)).index(room);
+    }
+}
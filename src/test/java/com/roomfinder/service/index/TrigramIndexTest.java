@@ -0,0 +1,81 @@
+package com.roomfinder.service.index;
+
+import com.roomfinder.entity.Room;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.roomfinder.fixtures.RoomFixture.room;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    private TrigramIndex trigramIndex;
+
+    @BeforeEach
+    void setUp() {
+        trigramIndex = new TrigramIndex();
+        trigramIndex.index(room(1L).title("Cozy studio").address("Thamel Marg").city("Kathmandu").build());
+        trigramIndex.index(room(2L).title("Lake view flat").address("Lakeside Road").city("Pokhara").build());
+        trigramIndex.index(room(3L).title("Single room").address("Baneshwor").city("Kathmandu").build());
+        trigramIndex.rebuildComplete();
+    }
+
+    @Test
+    void search_ToleratesMisspelledNeighbourhood() {
+        // Act
+        IdPage page = trigramIndex.search("thmel", 0, 10);
+
+        // Assert
+        assertEquals(1, page.total());
+        assertArrayEquals(new long[]{1L}, page.ids());
+    }
+
+    @Test
+    void search_MatchesAcrossTitleAddressAndCity() {
+        // Act
+        IdPage byTitle = trigramIndex.search("lake veiw", 0, 10);
+        IdPage byCity = trigramIndex.search("kathmandoo", 0, 10);
+
+        // Assert
+        assertArrayEquals(new long[]{2L}, byTitle.ids());
+        assertEquals(2, byCity.total());
+    }
+
+    @Test
+    void search_RanksCloserMatchesFirst() {
+        // Act
+        IdPage page = trigramIndex.search("baneshwor kathmandu", 0, 10);
+
+        // Assert
+        assertEquals(3L, page.ids()[0]);
+    }
+
+    @Test
+    void search_ReturnsNothingForUnrelatedText() {
+        // Act & Assert
+        assertEquals(0, trigramIndex.search("zzzz", 0, 10).total());
+    }
+
+    @Test
+    void index_MissingFieldsDoNotMatchTheWordNull() {
+        // Arrange
+        trigramIndex.index(room(4L).title(null).address("Lazimpat").city(null).build());
+
+        // Act & Assert
+        assertEquals(0, trigramIndex.search("null", 0, 10).total());
+        assertArrayEquals(new long[]{4L}, trigramIndex.search("lazimpat", 0, 10).ids());
+    }
+
+    @Test
+    void index_DropsRoomsThatBecomeUnavailable() {
+        // Arrange
+        Room room = room(1L).title("Cozy studio").address("Thamel Marg").city("Kathmandu").build();
+        room.setAvailable(false);
+
+        // Act
+        trigramIndex.index(room);
+
+        // Assert
+        assertEquals(0, trigramIndex.search("thamel", 0, 10).total());
+    }
+}
@@ -0,0 +1,64 @@
+package com.roomfinder.service.jobs;
+
+import com.roomfinder.repository.BookingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BookingExpiryJobTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 3, 15);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private MeterRegistry meterRegistry;
+    private BookingExpiryJob job;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        job = new BookingExpiryJob(bookingRepository, meterRegistry, 100, 3);
+    }
+
+    @Test
+    void expireStaleBookings_StopsAfterAShortChunk() {
+        // Arrange
+        when(bookingRepository.expirePendingStartingBefore(TODAY, 100)).thenReturn(100, 40);
+        when(bookingRepository.findOldestPendingStartBefore(TODAY)).thenReturn(Optional.empty());
+
+        // Act
+        long expired = job.expireStaleBookings(TODAY);
+
+        // Assert
+        assertEquals(140, expired);
+        verify(bookingRepository, times(2)).expirePendingStartingBefore(TODAY, 100);
+        assertEquals(140, meterRegistry.get("bookings.expired").counter().count());
+        assertEquals(0, meterRegistry.get("bookings.expiry.lag.days").gauge().value());
+    }
+
+    @Test
+    void expireStaleBookings_StopsAtTheChunkBudgetAndReportsLag() {
+        // Arrange
+        when(bookingRepository.expirePendingStartingBefore(TODAY, 100)).thenReturn(100);
+        when(bookingRepository.findOldestPendingStartBefore(TODAY)).thenReturn(Optional.of(TODAY.minusDays(4)));
+
+        // Act
+        long expired = job.expireStaleBookings(TODAY);
+
+        // Assert
+        assertEquals(300, expired);
+        verify(bookingRepository, times(3)).expirePendingStartingBefore(TODAY, 100);
+        assertEquals(4, meterRegistry.get("bookings.expiry.lag.days").gauge().value());
+    }
+}
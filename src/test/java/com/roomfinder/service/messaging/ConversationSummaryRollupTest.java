@@ -0,0 +1,155 @@
+package com.roomfinder.service.messaging;
+
+import com.roomfinder.entity.Message;
+import com.roomfinder.repository.ConversationSummaryRepository;
+import com.roomfinder.repository.ConversationSummaryRepository.UnreadCount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ConversationSummaryRollupTest {
+
+    private static final LocalDateTime SENT_AT = LocalDateTime.of(2030, 3, 15, 10, 0);
+
+    @Mock
+    private ConversationSummaryRepository summaryRepository;
+
+    @Mock
+    private UnreadCounters unreadCounters;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ConversationSummaryRollup rollup;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        rollup = new ConversationSummaryRollup(summaryRepository, unreadCounters, transactionTemplate);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void messageSent_WritesLowerUserIdFirstAndCountsUnreadForReceiver() {
+        // Arrange
+        Message message = message(10L, 9L, 7L, false);
+        UnreadCount unread = unread(4, 21L);
+        when(summaryRepository.recordMessage(7L, 9L, 10L, 9L, "hi", SENT_AT, 1)).thenReturn(unread);
+
+        // Act
+        rollup.messageSent(message);
+
+        // Assert
+        InOrder inOrder = inOrder(summaryRepository);
+        inOrder.verify(summaryRepository).recordMessage(7L, 9L, 10L, 9L, "hi", SENT_AT, 1);
+        inOrder.verify(summaryRepository).recordMessage(9L, 7L, 10L, 9L, "hi", SENT_AT, 0);
+        verify(unreadCounters).update(7L, 9L, unread);
+    }
+
+    @Test
+    void messageSent_AlreadyReadMessage_LeavesUnreadCountAlone() {
+        // Arrange
+        Message message = message(10L, 9L, 7L, true);
+        UnreadCount unread = unread(2, 21L);
+        when(summaryRepository.recordMessage(7L, 9L, 10L, 9L, "hi", SENT_AT, 0)).thenReturn(unread);
+
+        // Act
+        rollup.messageSent(message);
+
+        // Assert
+        verify(summaryRepository).recordMessage(7L, 9L, 10L, 9L, "hi", SENT_AT, 0);
+        verify(summaryRepository).recordMessage(9L, 7L, 10L, 9L, "hi", SENT_AT, 0);
+        verify(unreadCounters).update(7L, 9L, unread);
+    }
+
+    @Test
+    void messageDeleted_UnreadLastMessage_FallsBackOrRemovesEachSide() {
+        // Arrange
+        Message message = message(10L, 7L, 9L, false);
+        when(summaryRepository.replaceLastMessage(7L, 9L, 10L)).thenReturn(1);
+        when(summaryRepository.replaceLastMessage(9L, 7L, 10L)).thenReturn(0);
+        UnreadCount unread = unread(0, 21L);
+        when(summaryRepository.decrementUnread(9L, 7L, 1)).thenReturn(unread);
+
+        // Act
+        rollup.messageDeleted(message);
+
+        // Assert
+        verify(summaryRepository).decrementUnread(9L, 7L, 1);
+        verify(summaryRepository, never()).decrementUnread(eq(7L), anyLong(), anyInt());
+        verify(summaryRepository, never()).deleteIfLastMessage(7L, 9L, 10L);
+        verify(summaryRepository).deleteIfLastMessage(9L, 7L, 10L);
+        verify(unreadCounters).update(9L, 7L, unread);
+    }
+
+    @Test
+    void messagesRead_HandsNewCountsToCountersInOneUpdate() {
+        // Arrange
+        UnreadCount fromThree = unread(1, 21L);
+        UnreadCount fromSeven = unread(0, 22L);
+        when(summaryRepository.decrementUnread(9L, 3L, 2)).thenReturn(fromThree);
+        when(summaryRepository.decrementUnread(9L, 7L, 5)).thenReturn(fromSeven);
+
+        // Act
+        rollup.messagesRead(9L, Map.of(7L, 5, 3L, 2, 8L, 0));
+
+        // Assert
+        InOrder inOrder = inOrder(summaryRepository);
+        inOrder.verify(summaryRepository).decrementUnread(9L, 3L, 2);
+        inOrder.verify(summaryRepository).decrementUnread(9L, 7L, 5);
+        verify(summaryRepository, never()).decrementUnread(9L, 8L, 0);
+        verify(unreadCounters).update(9L, Map.of(3L, fromThree, 7L, fromSeven));
+    }
+
+    @Test
+    void messagesRead_OutsideTransaction_Throws() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+
+        assertThrows(IllegalStateException.class, () -> rollup.messagesRead(9L, 7L, 3));
+        verifyNoInteractions(summaryRepository);
+    }
+
+    private static Message message(Long id, Long senderId, Long receiverId, boolean read) {
+        return Message.builder()
+                .id(id)
+                .senderId(senderId)
+                .receiverId(receiverId)
+                .content("hi")
+                .sentAt(SENT_AT)
+                .isRead(read)
+                .build();
+    }
+
+    static UnreadCount unread(int count, long version) {
+        return new UnreadCount() {
+            @Override
+            public int getUnreadCount() {
+                return count;
+            }
+
+            @Override
+            public long getUnreadVersion() {
+                return version;
+            }
+        };
+    }
+}
@@ -0,0 +1,108 @@
+package com.roomfinder.service.messaging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NotificationDispatcherTest {
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void convertAndSendToUser_DeliversOnWorkerAndRecordsLatency() throws InterruptedException {
+        // Arrange
+        dispatcher = dispatcher(10);
+
+        // Act
+        dispatcher.convertAndSendToUser("7", "/queue/messages", "hello");
+
+        // Assert
+        verify(messagingTemplate, timeout(1000)).convertAndSendToUser("7", "/queue/messages", "hello");
+        dispatcher.shutdown();
+        assertEquals(1, meterRegistry.get("messaging.dispatch.latency").timer().count());
+    }
+
+    @Test
+    void convertAndSend_FailedDeliveryIsRetried() throws InterruptedException {
+        // Arrange
+        dispatcher = dispatcher(10);
+        doThrow(new MessageDeliveryException("broker unavailable"))
+                .doNothing()
+                .when(messagingTemplate).convertAndSend("/topic/room/1", "hello");
+
+        // Act
+        dispatcher.convertAndSend("/topic/room/1", "hello");
+
+        // Assert
+        verify(messagingTemplate, timeout(1000).times(2)).convertAndSend("/topic/room/1", "hello");
+        dispatcher.shutdown();
+        assertEquals(1, meterRegistry.get("messaging.dispatch.retries").counter().count());
+        assertEquals(0, meterRegistry.get("messaging.dispatch.dropped").tag("reason", "failed").counter().count());
+    }
+
+    @Test
+    void convertAndSend_UnexpectedExceptionIsDroppedAndWorkerKeepsDelivering() throws InterruptedException {
+        // Arrange
+        dispatcher = dispatcher(10);
+        doThrow(new IllegalArgumentException("no converter for payload"))
+                .when(messagingTemplate).convertAndSend("/topic/room/1", "broken");
+
+        // Act
+        dispatcher.convertAndSend("/topic/room/1", "broken");
+        dispatcher.convertAndSend("/topic/room/1", "hello");
+
+        // Assert
+        verify(messagingTemplate, timeout(1000)).convertAndSend("/topic/room/1", "hello");
+        verify(messagingTemplate, times(1)).convertAndSend("/topic/room/1", "broken");
+        assertEquals(1, meterRegistry.get("messaging.dispatch.dropped").tag("reason", "failed").counter().count());
+        assertEquals(0, meterRegistry.get("messaging.dispatch.retries").counter().count());
+    }
+
+    @Test
+    void convertAndSend_FullQueueDropsInsteadOfBlocking() throws InterruptedException {
+        // Arrange
+        dispatcher = dispatcher(1);
+        CountDownLatch delivering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            delivering.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(messagingTemplate).convertAndSend("/topic/slow", "first");
+        dispatcher.convertAndSend("/topic/slow", "first");
+        assertTrue(delivering.await(1, TimeUnit.SECONDS));
+
+        // Act
+        dispatcher.convertAndSend("/topic/slow", "queued");
+        dispatcher.convertAndSend("/topic/slow", "dropped");
+
+        // Assert
+        assertEquals(1, meterRegistry.get("messaging.dispatch.queue.depth").gauge().value());
+        assertEquals(1, meterRegistry.get("messaging.dispatch.dropped").tag("reason", "queue_full").counter().count());
+        release.countDown();
+        verify(messagingTemplate, timeout(1000)).convertAndSend("/topic/slow", "queued");
+        verify(messagingTemplate, never()).convertAndSend("/topic/slow", "dropped");
+    }
+
+    private NotificationDispatcher dispatcher(int queueCapacity) {
+        return new NotificationDispatcher(messagingTemplate, meterRegistry, 1, queueCapacity,
+                Duration.ofMillis(10), 3);
+    }
+}
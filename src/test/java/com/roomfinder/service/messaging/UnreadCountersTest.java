@@ -0,0 +1,94 @@
+package com.roomfinder.service.messaging;
+
+import com.roomfinder.dto.response.UnreadCountResponse;
+import com.roomfinder.entity.ConversationSummary;
+import com.roomfinder.repository.ConversationSummaryRepository;
+import com.roomfinder.repository.ConversationSummaryRepository.UnreadCount;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadCountersTest {
+
+    @Mock
+    private ConversationSummaryRepository summaryRepository;
+
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+
+    private UnreadCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new UnreadCounters(summaryRepository, notificationDispatcher, new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(30));
+    }
+
+    @Test
+    void get_LoadsOnceThenServesUpdatesFromMemory() {
+        when(summaryRepository.findByOwnerId(1L))
+                .thenReturn(List.of(summary(1L, 2L, 3, 10L), summary(1L, 5L, 1, 11L), summary(1L, 6L, 0, 12L)));
+
+        assertEquals(4, counters.get(1L).getTotal());
+
+        counters.update(1L, 2L, unread(4, 20L));
+        counters.update(1L, Map.of(5L, unread(0, 21L)));
+        UnreadCountResponse unread = counters.get(1L);
+
+        assertEquals(4, unread.getTotal());
+        assertEquals(Map.of(2L, 4), unread.getConversations());
+        verify(summaryRepository, times(1)).findByOwnerId(1L);
+        verify(notificationDispatcher).convertAndSendToUser(eq("1"), eq("/queue/unread"),
+                argThat((UnreadCountResponse pushed) -> pushed.getTotal() == 4));
+    }
+
+    @Test
+    void update_OlderVersionAppliedLate_IsIgnored() {
+        when(summaryRepository.findByOwnerId(1L)).thenReturn(List.of(summary(1L, 2L, 3, 10L)));
+        counters.get(1L);
+
+        counters.update(1L, 2L, unread(5, 30L));
+        counters.update(1L, 2L, unread(4, 20L));
+        counters.update(1L, 6L, unread(0, 40L));
+        counters.update(1L, 6L, unread(2, 35L));
+
+        assertEquals(Map.of(2L, 5), counters.get(1L).getConversations());
+    }
+
+    @Test
+    void update_UserNotCached_PushesNothingAndReadsNothing() {
+        counters.update(7L, 2L, unread(1, 10L));
+
+        verifyNoInteractions(summaryRepository, notificationDispatcher);
+    }
+
+    @Test
+    void update_NothingChanged_PushesNothing() {
+        counters.update(7L, Map.of());
+
+        verifyNoInteractions(summaryRepository, notificationDispatcher);
+    }
+
+    private static ConversationSummary summary(Long ownerId, Long otherUserId, int unread, long version) {
+        return new ConversationSummary(ownerId, otherUserId, 1L, otherUserId, "hi", LocalDateTime.now(), unread,
+                version);
+    }
+
+    private static UnreadCount unread(int count, long version) {
+        return ConversationSummaryRollupTest.unread(count, version);
+    }
+}
@@ -0,0 +1,87 @@
+package com.roomfinder.service.stats;
+
+import com.roomfinder.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.roomfinder.fixtures.RoomFixture.room;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RoomStatsAggregatorTest {
+
+    @InjectMocks
+    private RoomStatsAggregator aggregator;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        aggregator.index(room(1L).city("Kathmandu").price(4000).build());
+        aggregator.index(room(2L).city("Kathmandu").price(12000).available(false).build());
+        aggregator.index(room(3L).city("Pokhara").price(25000).build());
+        aggregator.rebuildComplete();
+    }
+
+    @Test
+    void totals_ReflectIndexedRooms() {
+        // Assert
+        assertEquals(3, aggregator.totalRooms());
+        assertEquals(2, aggregator.availableRooms());
+        assertEquals(1, aggregator.occupiedRooms());
+        assertEquals(41000 / 3.0, aggregator.averagePrice(), 1e-9);
+        assertEquals(Map.of("0-5000", 1L, "5000-10000", 0L, "10000-15000", 1L, "15000-20000", 0L, "20000+", 1L),
+                aggregator.priceRangeDistribution());
+        assertEquals(List.of("Kathmandu", "Pokhara"), List.copyOf(aggregator.cityDistribution().keySet()));
+    }
+
+    @Test
+    void index_AppliesDifferenceFromPreviousState() {
+        // Act
+        aggregator.index(room(2L).city("Pokhara").price(6000).build());
+        aggregator.remove(1L);
+
+        // Assert
+        assertEquals(2, aggregator.totalRooms());
+        assertEquals(2, aggregator.availableRooms());
+        assertEquals(15500, aggregator.averagePrice(), 1e-9);
+        assertEquals(Map.of("Pokhara", 2L), aggregator.cityDistribution());
+        assertEquals(1L, aggregator.priceRangeDistribution().get("5000-10000"));
+        assertEquals(0L, aggregator.priceRangeDistribution().get("10000-15000"));
+    }
+
+    @Test
+    void reconcile_ReplacesTotalsAndReplaysConcurrentWrites() {
+        // Arrange: the database holds two rooms, and room 4 is created while the scan runs
+        when(roomRepository.streamStatsRows()).thenReturn(Stream.<Object[]>of(
+                        new Object[]{1L, "Kathmandu", 4000.0, true},
+                        new Object[]{3L, "Pokhara", 25000.0, true})
+                .peek(row -> aggregator.index(room(4L).city("Butwal").price(8000).build())));
+
+        // Act
+        aggregator.reconcile();
+
+        // Assert
+        assertEquals(3, aggregator.totalRooms());
+        assertEquals(3, aggregator.availableRooms());
+        assertEquals(Map.of("Kathmandu", 1L, "Pokhara", 1L, "Butwal", 1L), aggregator.cityDistribution());
+    }
+
+    @Test
+    void bucketOf_UsesHalfOpenRanges() {
+        assertEquals(0, RoomStatsAggregator.bucketOf(4999.99));
+        assertEquals(1, RoomStatsAggregator.bucketOf(5000));
+        assertEquals(3, RoomStatsAggregator.bucketOf(19999));
+        assertEquals(4, RoomStatsAggregator.bucketOf(20000));
+        assertEquals(4, RoomStatsAggregator.bucketOf(1_000_000));
+    }
+}